@@ -27,6 +27,8 @@ android {
         }
     }
     compileOptions {
+        // Required by the java.time use of the library below API 26
+        isCoreLibraryDesugaringEnabled = true
         sourceCompatibility = JavaVersion.VERSION_17
         targetCompatibility = JavaVersion.VERSION_17
     }
@@ -40,4 +42,5 @@ dependencies {
     implementation(libs.androidx.appcompat)
     implementation(libs.material)
     implementation(project(":persiandatetimepicker"))
+    coreLibraryDesugaring(libs.desugar.jdk.libs)
 }
\ No newline at end of file
@@ -0,0 +1,76 @@
+import org.jetbrains.kotlin.gradle.dsl.JvmTarget
+
+plugins {
+    alias(libs.plugins.kotlin.jvm)
+    alias(libs.plugins.jmh)
+}
+
+// The calendar kernel of the library has no Android dependencies, so it is compiled here
+// straight from the library sources and benchmarked on a plain JVM. Month and DateStrings
+// touch a few Android types; src/androidStubs has compile-time stand-ins for just those, none
+// of which the benchmarked paths call.
+val librarySources = "../persiandatetimepicker/src/main/java"
+val androidStubs = "src/androidStubs/java"
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_17
+    targetCompatibility = JavaVersion.VERSION_17
+}
+
+sourceSets.named("main") {
+    java.setSrcDirs(listOf(librarySources, androidStubs))
+    java.include(
+        "com/masoud/persiandatetimepicker/datepicker/Month.java",
+        "com/masoud/persiandatetimepicker/R.java",
+        "android/**",
+        "androidx/**"
+    )
+}
+
+kotlin {
+    compilerOptions {
+        jvmTarget.set(JvmTarget.JVM_17)
+    }
+    sourceSets.named("main") {
+        kotlin.setSrcDirs(listOf(librarySources))
+        kotlin.include(
+            "com/masoud/persiandatetimepicker/utils/Jalali*.kt",
+            "com/masoud/persiandatetimepicker/utils/Conversion*.kt",
+            "com/masoud/persiandatetimepicker/utils/DateScanner.kt",
+            "com/masoud/persiandatetimepicker/utils/DateTimeUtils.kt",
+            "com/masoud/persiandatetimepicker/utils/GregorianFormatters.kt",
+            "com/masoud/persiandatetimepicker/utils/PersianCalendar.kt",
+            "com/masoud/persiandatetimepicker/utils/PersianCalendarConstants.kt",
+            "com/masoud/persiandatetimepicker/utils/PersianCalendarUtils.kt",
+            "com/masoud/persiandatetimepicker/utils/PersianDateParser.kt",
+            "com/masoud/persiandatetimepicker/utils/PersianDateInterop.kt",
+            "com/masoud/persiandatetimepicker/utils/enums/*.kt",
+            "com/masoud/persiandatetimepicker/datepicker/DateStrings.kt",
+            "com/masoud/persiandatetimepicker/datepicker/TimeSource.kt",
+            "com/masoud/persiandatetimepicker/datepicker/UtcDates.kt"
+        )
+    }
+    // UtcDates, DateStrings and Month are internal to the library
+    target.compilations.named("jmh") {
+        associateWith(target.compilations.getByName("main"))
+    }
+}
+
+dependencies {
+    // getPersianDateTime falls back to PersianDate for letters JalaliFormatter does not know,
+    // and the baseline cases measure the formatting paths as they were, through it
+    implementation(libs.persiandate)
+    // For the Flow adapter in JalaliFlows.kt, compiled with the other Jalali sources
+    compileOnly(libs.kotlinx.coroutines.core)
+}
+
+jmh {
+    jmhVersion.set(libs.versions.jmh)
+    benchmarkMode.add("thrpt")
+    timeUnit.set("us")
+    warmupIterations.set(3)
+    iterations.set(5)
+    fork.set(1)
+    profilers.add("gc")
+    resultFormat.set("JSON")
+}
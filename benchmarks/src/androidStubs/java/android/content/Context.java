@@ -0,0 +1,8 @@
+package android.content;
+
+/** Compile-time stand-in for the Android class, with only what the benchmarked sources call. */
+public abstract class Context {
+  public abstract String getString(int resId);
+
+  public abstract String getString(int resId, Object... formatArgs);
+}
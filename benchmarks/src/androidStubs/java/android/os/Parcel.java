@@ -0,0 +1,12 @@
+package android.os;
+
+/** Compile-time stand-in for the Android class, with only what the benchmarked sources call. */
+public final class Parcel {
+  public int readInt() {
+    throw new UnsupportedOperationException();
+  }
+
+  public void writeInt(int value) {
+    throw new UnsupportedOperationException();
+  }
+}
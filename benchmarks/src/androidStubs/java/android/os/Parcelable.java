@@ -0,0 +1,14 @@
+package android.os;
+
+/** Compile-time stand-in for the Android interface, with only what the benchmarked sources use. */
+public interface Parcelable {
+  int describeContents();
+
+  void writeToParcel(Parcel dest, int flags);
+
+  interface Creator<T> {
+    T createFromParcel(Parcel source);
+
+    T[] newArray(int size);
+  }
+}
@@ -0,0 +1,10 @@
+package androidx.annotation;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+/** Compile-time stand-in for the AndroidX annotation. */
+@Retention(RetentionPolicy.SOURCE)
+public @interface IntDef {
+  int[] value() default {};
+}
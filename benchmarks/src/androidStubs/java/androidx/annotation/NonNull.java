@@ -0,0 +1,9 @@
+package androidx.annotation;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+/** Compile-time stand-in for the AndroidX annotation. */
+@Retention(RetentionPolicy.CLASS)
+public @interface NonNull {
+}
@@ -0,0 +1,11 @@
+package com.masoud.persiandatetimepicker;
+
+/** Compile-time stand-in for the generated resources class, with the ids DateStrings reads. */
+public final class R {
+  public static final class string {
+    public static int mtrl_picker_end_date_description;
+    public static int mtrl_picker_navigate_to_year_description;
+    public static int mtrl_picker_start_date_description;
+    public static int mtrl_picker_today_description;
+  }
+}
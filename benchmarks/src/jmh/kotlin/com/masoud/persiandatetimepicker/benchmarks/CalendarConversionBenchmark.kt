@@ -0,0 +1,83 @@
+package com.masoud.persiandatetimepicker.benchmarks
+
+import com.masoud.persiandatetimepicker.datepicker.UtcDates
+import com.masoud.persiandatetimepicker.utils.JalaliCalendar
+import com.masoud.persiandatetimepicker.utils.PersianCalendar
+import com.masoud.persiandatetimepicker.utils.PersianCalendarConstants
+import com.masoud.persiandatetimepicker.utils.PersianCalendarUtils
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+
+/**
+ * Single-value conversions between epoch time and Jalali fields.
+ */
+@State(Scope.Thread)
+open class CalendarConversionBenchmark {
+    private lateinit var millis: LongArray
+    private lateinit var epochDays: LongArray
+    private lateinit var julianDays: LongArray
+    private lateinit var persianYears: LongArray
+    private lateinit var persianMonths: IntArray
+    private lateinit var persianDays: IntArray
+    private lateinit var calendar: PersianCalendar
+    private var index = 0
+
+    @Setup
+    fun setUp() {
+        millis = Timestamps.random()
+        epochDays = LongArray(Timestamps.SIZE) { JalaliCalendar.epochMillisToEpochDay(millis[it]) }
+        julianDays = LongArray(Timestamps.SIZE) {
+            (millis[it] - PersianCalendarConstants.MILLIS_JULIAN_EPOCH) / PersianCalendarConstants.MILLIS_OF_A_DAY
+        }
+        persianYears = LongArray(Timestamps.SIZE)
+        persianMonths = IntArray(Timestamps.SIZE)
+        persianDays = IntArray(Timestamps.SIZE)
+        for (i in 0 until Timestamps.SIZE) {
+            val packed = PersianCalendarUtils.julianToPersian(julianDays[i])
+            persianYears[i] = packed shr 16
+            persianMonths[i] = (packed shr 8 and 0xff).toInt()
+            persianDays[i] = (packed and 0xff).toInt()
+        }
+        calendar = PersianCalendar()
+    }
+
+    private fun next(): Int {
+        index = (index + 1) and Timestamps.MASK
+        return index
+    }
+
+    @Benchmark
+    fun julianToPersian(): Long {
+        return PersianCalendarUtils.julianToPersian(julianDays[next()])
+    }
+
+    @Benchmark
+    fun persianToJulian(): Long {
+        val i = next()
+        return PersianCalendarUtils.persianToJulian(persianYears[i], persianMonths[i], persianDays[i])
+    }
+
+    @Benchmark
+    fun epochDayToPackedJalali(): Int {
+        return JalaliCalendar.epochDayToPackedJalali(epochDays[next()])
+    }
+
+    @Benchmark
+    fun computePackedJalali(): Int {
+        return JalaliCalendar.computePackedJalali(epochDays[next()])
+    }
+
+    @Benchmark
+    fun persianCalendarSetTimeInMillis(): Int {
+        calendar.timeInMillis = millis[next()]
+        // Reading a field includes the (lazy) Jalali computation in the measurement
+        return calendar.getPersianDay()
+    }
+
+    @Benchmark
+    fun canonicalYearMonthDay(): Long {
+        return UtcDates.canonicalYearMonthDay(millis[next()])
+    }
+}
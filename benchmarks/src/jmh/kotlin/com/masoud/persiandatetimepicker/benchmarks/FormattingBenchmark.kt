@@ -0,0 +1,122 @@
+package com.masoud.persiandatetimepicker.benchmarks
+
+import com.masoud.persiandatetimepicker.datepicker.DateStrings
+import com.masoud.persiandatetimepicker.utils.JalaliFormatter
+import com.masoud.persiandatetimepicker.utils.convertDateStringToMillis
+import com.masoud.persiandatetimepicker.utils.enums.GregorianDatePattern
+import com.masoud.persiandatetimepicker.utils.enums.PersianDatePattern
+import com.masoud.persiandatetimepicker.utils.enums.TimeZones
+import com.masoud.persiandatetimepicker.utils.getGregorianDateTime
+import com.masoud.persiandatetimepicker.utils.getPersianDateTime
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import saman.zamani.persiandate.PersianDate
+import saman.zamani.persiandate.PersianDateFormat
+import java.text.SimpleDateFormat
+import java.util.Date
+import java.util.Locale
+
+/**
+ * Formatting and parsing paths of `DateTimeUtils` and `DateStrings`, called as shipped. The
+ * `Baseline` cases are the same calls as they were before, through PersianDate and
+ * SimpleDateFormat.
+ */
+@State(Scope.Thread)
+open class FormattingBenchmark {
+    private lateinit var millis: LongArray
+    private lateinit var persianDateTimes: Array<String>
+    private lateinit var gregorianDateTimes: Array<String>
+    private val output = StringBuilder()
+    private var index = 0
+
+    @Setup
+    fun setUp() {
+        millis = Timestamps.random()
+        val format = JalaliFormatter.of(PersianDatePattern.PATTERN_3)
+        persianDateTimes = Array(Timestamps.SIZE) { format.format(millis[it]) }
+        val sdf = SimpleDateFormat(GregorianDatePattern.PATTERN_1.text, Locale.ENGLISH)
+        gregorianDateTimes = Array(Timestamps.SIZE) { sdf.format(Date(millis[it])) }
+    }
+
+    private fun next(): Int {
+        index = (index + 1) and Timestamps.MASK
+        return index
+    }
+
+    @Benchmark
+    fun getPersianDateTime(): String {
+        return getPersianDateTime(Date(millis[next()]), PersianDatePattern.PATTERN_1)
+    }
+
+    /**
+     * Baseline: `getPersianDateTime(Date, PersianDatePattern.PATTERN_1)` as it was.
+     */
+    @Benchmark
+    fun getPersianDateTimeBaseline(): String {
+        val persianDate = PersianDate(Date(millis[next()]))
+        val persianDateFormat = PersianDateFormat(PersianDatePattern.PATTERN_1.text)
+        return persianDateFormat.format(persianDate)
+    }
+
+    /**
+     * The formatter `getPersianDateTime` goes through, appending to a reused builder.
+     */
+    @Benchmark
+    fun jalaliFormatter(): StringBuilder {
+        output.setLength(0)
+        return JalaliFormatter.of(PersianDatePattern.PATTERN_1).formatTo(millis[next()], output)
+    }
+
+    @Benchmark
+    fun getGregorianDateTime(): String? {
+        return getGregorianDateTime(
+            persianDateTimes[next()],
+            PersianDatePattern.PATTERN_3,
+            GregorianDatePattern.PATTERN_1
+        )
+    }
+
+    /**
+     * Baseline: `getGregorianDateTime(String, PersianDatePattern.PATTERN_3,
+     * GregorianDatePattern.PATTERN_1)` as it was.
+     */
+    @Benchmark
+    fun getGregorianDateTimeBaseline(): String {
+        val pdFormatter = PersianDateFormat(PersianDatePattern.PATTERN_3.text)
+        val pDate = pdFormatter.parse(persianDateTimes[next()])
+        val sdf = SimpleDateFormat(GregorianDatePattern.PATTERN_1.text, Locale.ENGLISH)
+        return sdf.format(pDate.toDate())
+    }
+
+    @Benchmark
+    fun convertDateStringToMillis(): Long? {
+        return convertDateStringToMillis(gregorianDateTimes[next()], GregorianDatePattern.PATTERN_1.text)
+    }
+
+    /**
+     * Baseline: `convertDateStringToMillis(String, GregorianDatePattern.PATTERN_1)` as it was,
+     * with a new SimpleDateFormat per call.
+     */
+    @Benchmark
+    fun convertDateStringToMillisBaseline(): Long {
+        val sdf = SimpleDateFormat(GregorianDatePattern.PATTERN_1.text, Locale.ENGLISH)
+        sdf.timeZone = TimeZones.UTC.timeZone
+        return sdf.parse(gregorianDateTimes[next()])!!.time
+    }
+
+    @Benchmark
+    fun getYearMonthDay(): String {
+        return DateStrings.getYearMonthDay(millis[next()])
+    }
+
+    /**
+     * Baseline: `DateStrings.getYearMonthDay` as it was.
+     */
+    @Benchmark
+    fun getYearMonthDayBaseline(): String {
+        val pd = PersianDate(millis[next()])
+        return pd.shDay.toString() + " " + pd.monthName() + " " + pd.shYear
+    }
+}
@@ -0,0 +1,115 @@
+package com.masoud.persiandatetimepicker.benchmarks
+
+import com.masoud.persiandatetimepicker.utils.DateScanner
+import com.masoud.persiandatetimepicker.utils.GregorianFormatters
+import com.masoud.persiandatetimepicker.utils.JalaliFormatter
+import com.masoud.persiandatetimepicker.utils.enums.GregorianDatePattern
+import com.masoud.persiandatetimepicker.utils.enums.PersianDatePattern
+import com.masoud.persiandatetimepicker.utils.enums.TimeZones
+import com.masoud.persiandatetimepicker.utils.getDate
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.OperationsPerInvocation
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.infra.Blackhole
+import saman.zamani.persiandate.PersianDateFormat
+import java.text.SimpleDateFormat
+import java.time.Instant
+import java.util.Date
+import java.util.Locale
+import java.util.TimeZone
+
+/**
+ * Parsing a column of [SIZE] ISO-8601 strings (`GregorianDatePattern.PATTERN_1`) and of Persian
+ * date-times (`PersianDatePattern.PATTERN_3`): the library paths and [DateScanner] against the
+ * `Baseline` paths they replace. Scores are per string.
+ */
+@State(Scope.Benchmark)
+open class ParsingBenchmark {
+    private val utc: TimeZone = TimeZone.getTimeZone("UTC")
+    private lateinit var isoDateTimes: Array<String>
+    private lateinit var persianDateTimes: Array<String>
+
+    @Setup
+    fun setUp() {
+        val millis = Timestamps.random(size = SIZE)
+        val sdf = SimpleDateFormat(GregorianDatePattern.PATTERN_1.text, Locale.ENGLISH)
+        sdf.timeZone = utc
+        isoDateTimes = Array(SIZE) { sdf.format(Date(millis[it])) }
+        val format = JalaliFormatter.of(PersianDatePattern.PATTERN_3)
+        persianDateTimes = Array(SIZE) { format.format(millis[it]) }
+    }
+
+    /**
+     * Baseline: `getDate(String)` before the formatter registry, a new SimpleDateFormat per
+     * string.
+     */
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    fun isoSimpleDateFormatBaseline(blackhole: Blackhole) {
+        for (text in isoDateTimes) {
+            val sdf = SimpleDateFormat(GregorianDatePattern.PATTERN_1.text, Locale.ENGLISH)
+            sdf.timeZone = utc
+            blackhole.consume(sdf.parse(text)!!.time)
+        }
+    }
+
+    /**
+     * Baseline: the cached java.time formatter alone, as `getDate(String)` used it before the ISO
+     * fast path.
+     */
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    fun isoJavaTimeBaseline(blackhole: Blackhole) {
+        val formatter = GregorianFormatters.of(GregorianDatePattern.PATTERN_1.text, utc)
+        for (text in isoDateTimes) {
+            blackhole.consume(Instant.from(formatter.parse(text)).toEpochMilli())
+        }
+    }
+
+    /**
+     * `getDate(String)`, which takes the ISO fast path.
+     */
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    fun getDate(blackhole: Blackhole) {
+        for (text in isoDateTimes) {
+            blackhole.consume(getDate(text, GregorianDatePattern.PATTERN_1, TimeZones.UTC))
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    fun isoScanner(blackhole: Blackhole) {
+        for (text in isoDateTimes) {
+            val result = DateScanner.scan(text, GregorianDatePattern.PATTERN_1)
+            blackhole.consume(DateScanner.gregorianToEpochMillis(result, utc))
+        }
+    }
+
+    /**
+     * Baseline: `getGregorianDateTime` before the scanner, a new PersianDateFormat per string.
+     */
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    fun persianDateFormatBaseline(blackhole: Blackhole) {
+        for (text in persianDateTimes) {
+            blackhole.consume(PersianDateFormat(PersianDatePattern.PATTERN_3.text).parse(text).time)
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    fun persianScanner(blackhole: Blackhole) {
+        val zone = TimeZone.getDefault()
+        for (text in persianDateTimes) {
+            val result = DateScanner.scan(text, PersianDatePattern.PATTERN_3)
+            blackhole.consume(DateScanner.jalaliToEpochMillis(result, zone))
+        }
+    }
+
+    private companion object {
+        const val SIZE = 1_000_000
+    }
+}
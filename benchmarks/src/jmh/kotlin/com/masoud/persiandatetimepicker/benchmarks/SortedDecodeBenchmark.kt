@@ -0,0 +1,64 @@
+package com.masoud.persiandatetimepicker.benchmarks
+
+import com.masoud.persiandatetimepicker.utils.JalaliBulk
+import com.masoud.persiandatetimepicker.utils.JalaliCursor
+import com.masoud.persiandatetimepicker.utils.JalaliDates
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.OperationsPerInvocation
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import java.util.TimeZone
+
+/**
+ * Decoding a sorted column of timestamps: one conversion per value against [JalaliCursor] and
+ * [JalaliBulk]. Scores are per value.
+ */
+@State(Scope.Thread)
+open class SortedDecodeBenchmark {
+    private val zone: TimeZone = TimeZone.getTimeZone("Asia/Tehran")
+    private lateinit var millis: LongArray
+    private lateinit var packed: IntArray
+    private lateinit var formatted: StringBuilder
+
+    @Setup
+    fun setUp() {
+        millis = Timestamps.sorted()
+        packed = IntArray(Timestamps.SIZE)
+        formatted = StringBuilder(Timestamps.SIZE * (JalaliBulk.DATE_LENGTH + 1))
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Timestamps.SIZE)
+    fun perValue(): IntArray {
+        for (i in millis.indices) {
+            val value = millis[i]
+            packed[i] = JalaliDates.ofEpochMillis(value + zone.getOffset(value))
+        }
+        return packed
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Timestamps.SIZE)
+    fun cursor(): IntArray {
+        val cursor = JalaliCursor(zone)
+        for (i in millis.indices) {
+            packed[i] = cursor.decode(millis[i])
+        }
+        return packed
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Timestamps.SIZE)
+    fun bulk(): IntArray {
+        JalaliBulk.convertToJalali(millis, packed, zone)
+        return packed
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(Timestamps.SIZE)
+    fun bulkFormat(): StringBuilder {
+        formatted.setLength(0)
+        return JalaliBulk.formatToJalali(millis, formatted, zone)
+    }
+}
@@ -0,0 +1,35 @@
+package com.masoud.persiandatetimepicker.benchmarks
+
+import java.util.Random
+
+/**
+ * Inputs shared by the suites: timestamps spread over Jalali years 1350 to 1450.
+ */
+internal object Timestamps {
+    // A power of two, so a rolling index is a mask away
+    const val SIZE: Int = 1 shl 12
+    const val MASK: Int = SIZE - 1
+
+    // 1971-03-21 and 2071-03-21, roughly
+    private const val FIRST_MILLIS = 38_361_600_000L
+    private const val LAST_MILLIS = 3_193_948_800_000L
+
+    fun random(seed: Long = 42L, size: Int = SIZE): LongArray {
+        val random = Random(seed)
+        return LongArray(size) {
+            FIRST_MILLIS + (random.nextDouble() * (LAST_MILLIS - FIRST_MILLIS)).toLong()
+        }
+    }
+
+    /**
+     * A sorted column with a few hours between values, like a transaction log.
+     */
+    fun sorted(seed: Long = 42L): LongArray {
+        val random = Random(seed)
+        var millis = FIRST_MILLIS
+        return LongArray(SIZE) {
+            millis += random.nextInt(6 * 3_600_000)
+            millis
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.masoud.persiandatetimepicker.datepicker
+
+import com.masoud.persiandatetimepicker.benchmarks.Timestamps
+import com.masoud.persiandatetimepicker.utils.JalaliCalendar
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.infra.Blackhole
+
+/**
+ * `Month.create` and `Month.monthsLater`, which the pager calls for every page. `Month` is
+ * package-private, hence the package of this suite.
+ */
+@State(Scope.Thread)
+open class MonthBenchmark {
+    private lateinit var millis: LongArray
+    private lateinit var start: Month
+    private var index = 0
+
+    // Page offsets from Farvardin 1300, the default start of the picker
+    private var position = 0
+
+    @Setup
+    fun setUp() {
+        millis = Timestamps.random()
+        start = Month.create(1300, Month.FARVARDIN)
+    }
+
+    // Month is not public, so it goes to the blackhole instead of being returned
+    @Benchmark
+    fun createFromMillis(blackhole: Blackhole) {
+        index = (index + 1) and Timestamps.MASK
+        blackhole.consume(Month.create(millis[index]))
+    }
+
+    @Benchmark
+    fun monthsLater(blackhole: Blackhole) {
+        position = (position + 1) % MONTH_SPAN
+        blackhole.consume(start.monthsLater(position))
+    }
+
+    /**
+     * Baseline: what `createFromMillis` costs when the month is not interned, the kernel calls
+     * the `Month` constructor makes.
+     */
+    @Benchmark
+    fun createFromMillisUncachedBaseline(blackhole: Blackhole) {
+        index = (index + 1) and Timestamps.MASK
+        val packed = JalaliCalendar.epochDayToPackedJalali(
+            JalaliCalendar.epochMillisToEpochDay(millis[index])
+        )
+        val year = JalaliCalendar.year(packed)
+        val month = JalaliCalendar.month(packed)
+        val firstEpochDay = JalaliCalendar.jalaliToEpochDay(year, month, 1)
+        blackhole.consume(JalaliCalendar.monthLength(year, month))
+        blackhole.consume(JalaliCalendar.epochDayToEpochMillis(firstEpochDay))
+        blackhole.consume(JalaliCalendar.dayOfWeek(firstEpochDay))
+    }
+
+    private companion object {
+        const val MONTH_SPAN = 201 * 12
+    }
+}
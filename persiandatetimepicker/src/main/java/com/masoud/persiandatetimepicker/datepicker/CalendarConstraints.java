@@ -23,6 +23,7 @@ public final class CalendarConstraints implements Parcelable {
   @Nullable
   private Month openAt;
   private final int firstDayOfWeek;
+  private final boolean persianDigits;
   private final int yearSpan;
   private final int monthSpan;
 
@@ -34,7 +35,8 @@ public final class CalendarConstraints implements Parcelable {
                               @NonNull Month end,
                               @NonNull DateValidator validator,
                               @Nullable Month openAt,
-                              int firstDayOfWeek) {
+                              int firstDayOfWeek,
+                              boolean persianDigits) {
     Objects.requireNonNull(start, "start cannot be null");
     Objects.requireNonNull(end, "end cannot be null");
     Objects.requireNonNull(validator, "validator cannot be null");
@@ -43,6 +45,7 @@ public final class CalendarConstraints implements Parcelable {
     this.validator = validator;
     this.openAt = openAt;
     this.firstDayOfWeek = firstDayOfWeek;
+    this.persianDigits = persianDigits;
     if (openAt != null && start.compareTo(openAt) > 0) {
       throw new IllegalArgumentException("start Month cannot be after current Month");
     }
@@ -87,6 +90,14 @@ public final class CalendarConstraints implements Parcelable {
     return firstDayOfWeek;
   }
 
+  /**
+   * The shared labels of the cells and titles, in the configured digit set.
+   */
+  @NonNull
+  CalendarLabels getLabels() {
+    return CalendarLabels.of(persianDigits);
+  }
+
   int getMonthSpan() {
     return monthSpan;
   }
@@ -116,12 +127,13 @@ public final class CalendarConstraints implements Parcelable {
             && end.equals(that.end)
             && ObjectsCompat.equals(openAt, that.openAt)
             && firstDayOfWeek == that.firstDayOfWeek
+            && persianDigits == that.persianDigits
             && validator.equals(that.validator);
   }
 
   @Override
   public int hashCode() {
-    Object[] fields = {start, end, openAt, firstDayOfWeek, validator};
+    Object[] fields = {start, end, openAt, firstDayOfWeek, persianDigits, validator};
     return Arrays.hashCode(fields);
   }
 
@@ -133,7 +145,8 @@ public final class CalendarConstraints implements Parcelable {
           Month open = source.readParcelable(Month.class.getClassLoader());
           DateValidator val = source.readParcelable(DateValidator.class.getClassLoader());
           int fdow = source.readInt();
-          return new CalendarConstraints(start, end, val, open, fdow);
+          boolean persianDigits = source.readInt() != 0;
+          return new CalendarConstraints(start, end, val, open, fdow, persianDigits);
       }
 
       @Override
@@ -154,6 +167,7 @@ public final class CalendarConstraints implements Parcelable {
     dest.writeParcelable(openAt, 0);
     dest.writeParcelable(validator, 0);
     dest.writeInt(firstDayOfWeek);
+    dest.writeInt(persianDigits ? 1 : 0);
   }
 
   Month clamp(Month month) {
@@ -179,6 +193,7 @@ public final class CalendarConstraints implements Parcelable {
     private long end = DEFAULT_END;
     private Long openAt = null;
     private int firstDayOfWeek = 0;
+    private boolean persianDigits = false;
     private DateValidator validator = DateValidatorPointForward.from(Long.MIN_VALUE);
 
     public Builder() {
@@ -189,6 +204,7 @@ public final class CalendarConstraints implements Parcelable {
       end   = c.end.timeInMillis;
       openAt = c.openAt == null ? null : c.openAt.timeInMillis;
       firstDayOfWeek = c.firstDayOfWeek;
+      persianDigits = c.persianDigits;
       validator = c.validator;
     }
 
@@ -216,6 +232,15 @@ public final class CalendarConstraints implements Parcelable {
       return this;
     }
 
+    /**
+     * Shows day numbers, years and month titles with Persian digits instead of ASCII ones.
+     */
+    @NonNull
+    public Builder setPersianDigits(boolean persianDigits) {
+      this.persianDigits = persianDigits;
+      return this;
+    }
+
     @NonNull
     public Builder setValidator(@NonNull DateValidator val) {
       this.validator = val;
@@ -227,7 +252,7 @@ public final class CalendarConstraints implements Parcelable {
       Month s = Month.create(start);
       Month e = Month.create(end);
       Month o = (openAt == null) ? null : Month.create(openAt);
-      return new CalendarConstraints(s, e, validator, o, firstDayOfWeek);
+      return new CalendarConstraints(s, e, validator, o, firstDayOfWeek, persianDigits);
     }
   }
 }
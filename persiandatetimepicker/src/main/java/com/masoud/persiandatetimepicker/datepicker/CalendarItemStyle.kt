@@ -3,7 +3,9 @@ package com.masoud.persiandatetimepicker.datepicker
 import android.annotation.SuppressLint
 import android.content.Context
 import android.content.res.ColorStateList
+import android.graphics.Canvas
 import android.graphics.Rect
+import android.graphics.drawable.Drawable
 import android.graphics.drawable.InsetDrawable
 import android.graphics.drawable.RippleDrawable
 import android.widget.TextView
@@ -43,6 +45,13 @@ internal class CalendarItemStyle private constructor(
     private val strokeWidth: Int
     private val itemShape: ShapeAppearanceModel
 
+    // Shape drawn by drawItemBackground, created on first use
+    private var drawnBackground: MaterialShapeDrawable? = null
+
+    // Item backgrounds shared between items, by fill color override; see getBackgroundState
+    private var defaultBackground: Drawable.ConstantState? = null
+    private val overrideBackgrounds = HashMap<Int, Drawable.ConstantState>()
+
     init {
         Preconditions.checkArgumentNonnegative(insets.left)
         Preconditions.checkArgumentNonnegative(insets.top)
@@ -59,11 +68,10 @@ internal class CalendarItemStyle private constructor(
 
     /**
      * Applies the `R.styleable.MaterialCalendarDay` style to the provided `item`,
-     * factoring in the `backgroundColorOverride` if not null.
-     */
-    /**
-     * Applies the `R.styleable.MaterialCalendarDay` style to the provided `item`, with no
-     * `backgroundColorOverride`.
+     * factoring in the `backgroundColorOverride` and `textColorOverride` if not null.
+     *
+     * Backgrounds are new drawables over a [Drawable.ConstantState] shared by every item of this
+     * style with the same fill, and an item that already has that background keeps it.
      */
     @JvmOverloads
     fun styleItem(
@@ -71,17 +79,79 @@ internal class CalendarItemStyle private constructor(
         backgroundColorOverride: ColorStateList? = null,
         textColorOverride: ColorStateList? = null
     ) {
+        item.setTextColor(textColorOverride ?: textColor)
+        val background = getBackgroundState(backgroundColorOverride)
+        if (background == null) {
+            ViewCompat.setBackground(item, createBackground(backgroundColorOverride))
+        } else if (item.background?.constantState !== background) {
+            ViewCompat.setBackground(item, background.newDrawable(item.resources))
+        }
+    }
+
+    /**
+     * The shared background for [backgroundColorOverride], or `null` when it cannot be shared:
+     * stateful overrides have no value to be keyed by, and at most [MAX_SHARED_OVERRIDES] fill
+     * colors are kept.
+     */
+    private fun getBackgroundState(backgroundColorOverride: ColorStateList?): Drawable.ConstantState? {
+        if (backgroundColorOverride == null) {
+            return defaultBackground
+                ?: createBackground(null).constantState.also { defaultBackground = it }
+        }
+        if (backgroundColorOverride.isStateful) {
+            return null
+        }
+        val color = backgroundColorOverride.defaultColor
+        overrideBackgrounds[color]?.let { return it }
+        if (overrideBackgrounds.size >= MAX_SHARED_OVERRIDES) {
+            return null
+        }
+        return createBackground(backgroundColorOverride).constantState
+            ?.also { overrideBackgrounds[color] = it }
+    }
+
+    private fun createBackground(backgroundColorOverride: ColorStateList?): Drawable {
         val backgroundDrawable = MaterialShapeDrawable()
         val shapeMask = MaterialShapeDrawable()
         backgroundDrawable.setShapeAppearanceModel(itemShape)
         shapeMask.setShapeAppearanceModel(itemShape)
         backgroundDrawable.fillColor = backgroundColorOverride ?: backgroundColor
         backgroundDrawable.setStroke(strokeWidth.toFloat(), strokeColor)
-        item.setTextColor(textColorOverride ?: textColor)
         val d = RippleDrawable(textColor.withAlpha(30), backgroundDrawable, shapeMask)
-        ViewCompat.setBackground(
-            item, InsetDrawable(d, insets.left, insets.top, insets.right, insets.bottom)
+        return InsetDrawable(d, insets.left, insets.top, insets.right, insets.bottom)
+    }
+
+    /**
+     * Draws the selection marker of an item laid out at [bounds] on [canvas], as [styleItem]
+     * backs a [TextView] in the drawable [state], without the ripple.
+     */
+    fun drawItemBackground(
+        canvas: Canvas,
+        bounds: Rect,
+        state: IntArray,
+        backgroundColorOverride: ColorStateList? = null
+    ) {
+        val background = drawnBackground ?: MaterialShapeDrawable(itemShape).also {
+            it.setStroke(strokeWidth.toFloat(), strokeColor)
+            drawnBackground = it
+        }
+        background.fillColor = backgroundColorOverride ?: backgroundColor
+        background.setState(state)
+        background.setBounds(
+            bounds.left + insets.left,
+            bounds.top + insets.top,
+            bounds.right - insets.right,
+            bounds.bottom - insets.bottom
         )
+        background.draw(canvas)
+    }
+
+    /**
+     * The text color of an item in the drawable [state], factoring in [textColorOverride].
+     */
+    fun getTextColor(state: IntArray, textColorOverride: ColorStateList? = null): Int {
+        val colors = textColorOverride ?: textColor
+        return colors.getColorForState(state, colors.defaultColor)
     }
 
     val leftInset: Int
@@ -97,6 +167,9 @@ internal class CalendarItemStyle private constructor(
         get() = insets.bottom
 
     companion object {
+        // Decorators tend to use a handful of fills; beyond that, backgrounds are not shared
+        private const val MAX_SHARED_OVERRIDES = 16
+
         /**
          * Creates a [CalendarItemStyle] using the provided [ ][R.styleable.MaterialCalendarItem].
          */
@@ -0,0 +1,95 @@
+package com.masoud.persiandatetimepicker.datepicker
+
+import com.masoud.persiandatetimepicker.utils.JalaliYearTable
+import com.masoud.persiandatetimepicker.utils.PersianCalendarConstants
+
+/**
+ * The text of the picker cells and titles, built once per digit set and shared by all adapters,
+ * so binding a cell does no string building.
+ *
+ * Day numbers and weekday names are built up front. Years and "Month Year" titles of the default
+ * constraint window are built on first use and kept; the rest are built on each call. The
+ * labels are Persian whatever the device locale, so the digit set is the only configuration.
+ */
+internal class CalendarLabels private constructor(val persianDigits: Boolean) {
+    private val zeroDigit: Char = if (persianDigits) PERSIAN_ZERO else '0'
+
+    // Index 0 is unused, so a day number is its own index
+    private val dayNumbers: Array<String> = Array(MAX_DAY_OF_MONTH + 1) { number(it) }
+
+    private val weekdayDescriptions: Array<String> =
+        Array(WEEKDAY_SHORT_NAMES.size) { "DayOfWeek " + WEEKDAY_SHORT_NAMES[it] }
+
+    private val years = arrayOfNulls<String>(WINDOW_LAST_YEAR - WINDOW_FIRST_YEAR + 1)
+    private val monthYears = arrayOfNulls<String>(years.size * 12)
+
+    /**
+     * [day] of the month, 1 to 31.
+     */
+    fun dayNumber(day: Int): String {
+        return dayNumbers[day]
+    }
+
+    /**
+     * Short name of [dayOfWeek], 0 = Saturday.
+     */
+    fun weekdayShortName(dayOfWeek: Int): String {
+        return WEEKDAY_SHORT_NAMES[dayOfWeek]
+    }
+
+    fun weekdayDescription(dayOfWeek: Int): String {
+        return weekdayDescriptions[dayOfWeek]
+    }
+
+    fun year(year: Int): String {
+        if (year < WINDOW_FIRST_YEAR || year > WINDOW_LAST_YEAR) {
+            return number(year)
+        }
+        val index = year - WINDOW_FIRST_YEAR
+        return years[index] ?: number(year).also { years[index] = it }
+    }
+
+    /**
+     * Title of [month], e.g. فروردین 1403.
+     */
+    fun monthYear(month: Month): String {
+        if (month.year < WINDOW_FIRST_YEAR || month.year > WINDOW_LAST_YEAR) {
+            return buildMonthYear(month)
+        }
+        val index = (month.year - WINDOW_FIRST_YEAR) * 12 + month.month
+        return monthYears[index] ?: buildMonthYear(month).also { monthYears[index] = it }
+    }
+
+    private fun buildMonthYear(month: Month): String {
+        return PersianCalendarConstants.persianMonthNames[month.month] + " " + year(month.year)
+    }
+
+    private fun number(value: Int): String {
+        if (zeroDigit == '0') {
+            return value.toString()
+        }
+        val text = value.toString().toCharArray()
+        for (i in text.indices) {
+            if (text[i] in '0'..'9') text[i] = zeroDigit + (text[i] - '0')
+        }
+        return String(text)
+    }
+
+    companion object {
+        private const val PERSIAN_ZERO = '\u06F0'
+        private const val MAX_DAY_OF_MONTH = 31
+        private const val WINDOW_FIRST_YEAR = JalaliYearTable.DEFAULT_FIRST_YEAR
+        private const val WINDOW_LAST_YEAR = JalaliYearTable.DEFAULT_LAST_YEAR
+
+        // Saturday to Friday
+        private val WEEKDAY_SHORT_NAMES = arrayOf("ش", "ی", "د", "س", "چ", "پ", "ج")
+
+        private val ascii = CalendarLabels(false)
+        private val persian = CalendarLabels(true)
+
+        @JvmStatic
+        fun of(persianDigits: Boolean): CalendarLabels {
+            return if (persianDigits) persian else ascii
+        }
+    }
+}
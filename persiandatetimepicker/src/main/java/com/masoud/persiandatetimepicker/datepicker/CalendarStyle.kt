@@ -3,6 +3,8 @@ package com.masoud.persiandatetimepicker.datepicker
 import android.annotation.SuppressLint
 import android.content.Context
 import android.graphics.Paint
+import android.text.TextPaint
+import android.widget.TextView
 import com.google.android.material.resources.MaterialAttributes
 import com.google.android.material.resources.MaterialResources
 import com.masoud.persiandatetimepicker.R
@@ -58,6 +60,17 @@ internal class CalendarStyle @SuppressLint("PrivateResource") constructor(contex
     @JvmField
     val rangeFill: Paint
 
+    /**
+     * A [TextPaint] with the text appearance of `R.attr.materialCalendarDay`, for days drawn by
+     * [MonthView]. Built on first use, since the default day grid never needs it.
+     */
+    val dayText: TextPaint by lazy(LazyThreadSafetyMode.NONE) {
+        // A day cell resolves the theme's text appearance and font exactly as the grid does
+        val paint = TextPaint(TextView(context, null, R.attr.materialCalendarDay).paint)
+        paint.textAlign = Paint.Align.LEFT
+        paint
+    }
+
     init {
         val calendarStyle =
             MaterialAttributes.resolveOrThrow(
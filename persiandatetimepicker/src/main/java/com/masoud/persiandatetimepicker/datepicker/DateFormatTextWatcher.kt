@@ -3,10 +3,11 @@ package com.masoud.persiandatetimepicker.datepicker
 import android.annotation.SuppressLint
 import android.text.TextUtils
 import android.view.View
+import androidx.annotation.StringRes
 import com.google.android.material.internal.TextWatcherAdapter
 import com.google.android.material.textfield.TextInputLayout
 import com.masoud.persiandatetimepicker.R
-import saman.zamani.persiandate.PersianDate
+import com.masoud.persiandatetimepicker.utils.JalaliParseResult
 
 @SuppressLint("RestrictedApi")
 abstract class DateFormatTextWatcher(
@@ -18,8 +19,12 @@ abstract class DateFormatTextWatcher(
     private val outOfRange: String =
         textInputLayout.context.getString(R.string.mtrl_picker_out_of_range)
 
+    // The first line of the format error, naming the field that could not be read
+    @StringRes
+    private var invalidFormatRes: Int = R.string.mtrl_picker_invalid_format
+
     private val setErrorCallback: Runnable = Runnable {
-        val invalidFormat = textInputLayout.context.getString(R.string.mtrl_picker_invalid_format)
+        val invalidFormat = textInputLayout.context.getString(invalidFormatRes)
         val useLine = String.format(
             textInputLayout.context.getString(R.string.mtrl_picker_invalid_format_use),
             pattern
@@ -34,8 +39,6 @@ abstract class DateFormatTextWatcher(
 
     private var setRangeErrorCallback: Runnable? = null
 
-    private val persianDate by lazy { PersianDate() }
-
     abstract fun onValidDate(day: Long?)
 
     open fun onInvalidDate() {}
@@ -49,17 +52,44 @@ abstract class DateFormatTextWatcher(
         if (TextUtils.isEmpty(s) || s.length < pattern.length) {
             return
         }
-        try {
-            val millis = parseJalali(s.toString())
-            val validator = constraints.dateValidator
-            if (validator.isValid(millis) && constraints.isWithinBounds(millis)) {
-                onValidDate(millis)
-            } else {
-                setRangeErrorCallback = createRangeErrorCallback(millis)
-                runValidation(textInputLayout, setRangeErrorCallback!!)
+        when (val result = JalaliParseResult.parse(s)) {
+            is JalaliParseResult.Valid -> {
+                val millis = result.millis
+                val validator = constraints.dateValidator
+                if (validator.isValid(millis) && constraints.isWithinBounds(millis)) {
+                    onValidDate(millis)
+                } else {
+                    setRangeErrorCallback = createRangeErrorCallback(millis)
+                    runValidation(textInputLayout, setRangeErrorCallback!!)
+                }
+            }
+
+            is JalaliParseResult.InvalidFormat -> {
+                invalidFormatRes = invalidFieldRes(s, result.position)
+                runValidation(textInputLayout, setErrorCallback)
+            }
+
+            JalaliParseResult.OutOfRange -> {
+                invalidFormatRes = R.string.mtrl_picker_invalid_date
+                runValidation(textInputLayout, setErrorCallback)
             }
-        } catch (_: Exception) {
-            runValidation(textInputLayout, setErrorCallback)
+        }
+    }
+
+    /**
+     * The message of the year, month or day field [position] falls in, told apart by the
+     * delimiters before it.
+     */
+    @StringRes
+    private fun invalidFieldRes(text: CharSequence, position: Int): Int {
+        var field = 0
+        for (i in 0 until minOf(position, text.length)) {
+            if (text[i] == DELIMITER) field++
+        }
+        return when (field) {
+            0 -> R.string.mtrl_picker_invalid_format_year
+            1 -> R.string.mtrl_picker_invalid_format_month
+            else -> R.string.mtrl_picker_invalid_format_day
         }
     }
 
@@ -76,17 +106,7 @@ abstract class DateFormatTextWatcher(
         view.post(validation)
     }
 
-    @Throws(IllegalArgumentException::class)
-    private fun parseJalali(text: String): Long {
-        val parts = text.split("/")
-        if (parts.size != 3) {
-            throw IllegalArgumentException("invalid format for jalali: $text")
-        }
-
-        persianDate.shYear = parts[0].toInt()
-        persianDate.shMonth = parts[1].toInt()
-        persianDate.shDay = parts[2].toInt()
-
-        return persianDate.time
+    private companion object {
+        const val DELIMITER = '/'
     }
 }
@@ -3,37 +3,29 @@ package com.masoud.persiandatetimepicker.datepicker
 import android.content.Context
 import androidx.core.util.Pair
 import com.masoud.persiandatetimepicker.R
-import saman.zamani.persiandate.PersianDate
+import com.masoud.persiandatetimepicker.utils.JalaliDate
 import java.text.SimpleDateFormat
 import java.util.Date
 
 internal object DateStrings {
-    @JvmStatic
-    fun getYearMonth(timeInMillis: Long): String {
-        val pd = PersianDate(timeInMillis)
-        return pd.monthName() + " " + pd.shYear
-    }
-
     fun getYearMonthDay(timeInMillis: Long): String {
-        val pd = PersianDate(timeInMillis)
-        return pd.shDay.toString() + " " + pd.monthName() + " " + pd.shYear
+        val date = JalaliDate.ofEpochMillis(timeInMillis)
+        return date.day.toString() + " " + date.monthName + " " + date.year
     }
 
     fun getMonthDay(timeInMillis: Long): String {
-        val pd = PersianDate(timeInMillis)
-        return pd.shDay.toString() + " " + pd.monthName()
+        val date = JalaliDate.ofEpochMillis(timeInMillis)
+        return date.day.toString() + " " + date.monthName
     }
 
     fun getMonthDayOfWeekDay(timeInMillis: Long): String {
-        val pd = PersianDate(timeInMillis)
-        val dayName = pd.dayName()
-        return dayName + " " + pd.shDay + " " + pd.monthName()
+        val date = JalaliDate.ofEpochMillis(timeInMillis)
+        return date.dayName + " " + date.day + " " + date.monthName
     }
 
     fun getYearMonthDayOfWeekDay(timeInMillis: Long): String {
-        val pd = PersianDate(timeInMillis)
-        val dayName = pd.dayName()
-        return dayName + " " + pd.shDay + " " + pd.monthName() + " " + pd.shYear
+        val date = JalaliDate.ofEpochMillis(timeInMillis)
+        return date.dayName + " " + date.day + " " + date.monthName + " " + date.year
     }
 
     fun getOptionalYearMonthDayOfWeekDay(timeInMillis: Long): String {
@@ -2,7 +2,7 @@ package com.masoud.persiandatetimepicker.datepicker
 
 import android.os.Parcel
 import android.os.Parcelable
-import com.masoud.persiandatetimepicker.datepicker.UtcDates.todayCalendar
+import com.masoud.persiandatetimepicker.datepicker.UtcDates.todayCanonical
 
 /**
  * A [CalendarConstraints.DateValidator] that enables only dates before a given point.
@@ -51,7 +51,7 @@ class DateValidatorPointBackward private constructor(private val point: Long) :
          * time backwards.
          */
         fun now(): DateValidatorPointBackward {
-            return before(todayCalendar.timeInMillis)
+            return before(todayCanonical)
         }
 
         /** Part of [Parcelable] requirements. Do not use.  */
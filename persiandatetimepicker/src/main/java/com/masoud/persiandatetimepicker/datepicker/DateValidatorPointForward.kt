@@ -2,7 +2,7 @@ package com.masoud.persiandatetimepicker.datepicker
 
 import android.os.Parcel
 import android.os.Parcelable
-import com.masoud.persiandatetimepicker.datepicker.UtcDates.todayCalendar
+import com.masoud.persiandatetimepicker.datepicker.UtcDates.todayCanonical
 
 /**
  * A [CalendarConstraints.DateValidator] that enables dates from a given point forward.
@@ -52,7 +52,7 @@ class DateValidatorPointForward private constructor(private val point: Long) :
          * time forward.
          */
         fun now(): DateValidatorPointForward {
-            return from(todayCalendar.timeInMillis)
+            return from(todayCanonical)
         }
 
         /** Part of [Parcelable] requirements. Do not use.  */
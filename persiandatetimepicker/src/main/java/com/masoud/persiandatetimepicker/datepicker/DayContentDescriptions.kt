@@ -0,0 +1,53 @@
+package com.masoud.persiandatetimepicker.datepicker
+
+import android.content.Context
+import android.util.LruCache
+import androidx.core.os.ConfigurationCompat
+import com.masoud.persiandatetimepicker.utils.JalaliCalendar
+import java.util.Locale
+
+/**
+ * LRU cache of the accessibility descriptions of day cells, keyed by day plus its today, start
+ * and end of range flags, so rebinding a month does not rebuild every description.
+ *
+ * The today and range wording comes from resources, so the cache is dropped whenever the
+ * locale of the context it is read with changes.
+ */
+internal object DayContentDescriptions {
+    // A few months of cells, with room for the flag variants of the selection
+    private const val MAX_SIZE = 256
+
+    private const val TODAY = 1L
+    private const val START_OF_RANGE = 2L
+    private const val END_OF_RANGE = 4L
+    private const val FLAG_BITS = 3
+
+    private val cache = LruCache<Long, String>(MAX_SIZE)
+    private var locale: Locale? = null
+
+    /**
+     * [DateStrings.getDayContentDescription], served from the cache when it was built before.
+     */
+    @JvmStatic
+    fun get(
+        context: Context,
+        dayInMillis: Long,
+        isToday: Boolean,
+        isStartOfRange: Boolean,
+        isEndOfRange: Boolean
+    ): String {
+        val current = ConfigurationCompat.getLocales(context.resources.configuration).get(0)
+        if (current != locale) {
+            cache.evictAll()
+            locale = current
+        }
+        var key = JalaliCalendar.epochMillisToEpochDay(dayInMillis) shl FLAG_BITS
+        if (isToday) key = key or TODAY
+        if (isStartOfRange) key = key or START_OF_RANGE
+        if (isEndOfRange) key = key or END_OF_RANGE
+
+        return cache.get(key) ?: DateStrings.getDayContentDescription(
+            context, dayInMillis, isToday, isStartOfRange, isEndOfRange
+        ).also { cache.put(key, it) }
+    }
+}
@@ -14,15 +14,18 @@ import com.masoud.persiandatetimepicker.R
 internal class DaysOfWeekAdapter : BaseAdapter {
     private val daysInWeek = 7
     private val firstDayOfWeek: Int
+    private val labels: CalendarLabels
 
     // Default constructor: assumes Saturday as the first day of week
-    constructor() {
+    constructor(labels: CalendarLabels) {
         this.firstDayOfWeek = 1
+        this.labels = labels
     }
 
     // Constructor with custom first day of week
-    constructor(firstDayOfWeek: Int) {
+    constructor(firstDayOfWeek: Int, labels: CalendarLabels) {
         this.firstDayOfWeek = firstDayOfWeek
+        this.labels = labels
     }
 
     // Total number of week days
@@ -51,14 +54,13 @@ internal class DaysOfWeekAdapter : BaseAdapter {
 
         val dayOfWeek = positionToDayOfWeek(position)
 
-        // Persian short day names: Saturday to Friday
-        val shortNames = arrayOf<String?>("ش", "ی", "د", "س", "چ", "پ", "ج")
+        // Index into the Persian week, Saturday to Friday
         var index = dayOfWeek - 1
         if (index < 0) index = 0
         if (index > 6) index = 6
 
-        tv!!.text = shortNames[index]
-        tv.setContentDescription("DayOfWeek " + shortNames[index])
+        tv!!.text = labels.weekdayShortName(index)
+        tv.setContentDescription(labels.weekdayDescription(index))
 
         return tv
     }
@@ -5,7 +5,7 @@ import android.content.res.ColorStateList
 import android.graphics.Color
 import android.os.Parcel
 import android.os.Parcelable
-import saman.zamani.persiandate.PersianDate
+import com.masoud.persiandatetimepicker.utils.JalaliDate
 
 class HolidayDecorator() : DayViewDecorator() {
     @Suppress("unused")
@@ -25,17 +25,15 @@ class HolidayDecorator() : DayViewDecorator() {
         valid: Boolean,
         selected: Boolean
     ): ColorStateList? {
-        val persianDate = PersianDate()
-        persianDate.shYear = year
-        persianDate.shMonth = month + 1
-        persianDate.shDay = day
+        val shMonth = month + 1
+        val date = JalaliDate.of(year, shMonth, day)
 
         return if (
-            persianDate.dayOfWeek() == 6 ||
-            (persianDate.shMonth == 1 && day in listOf(1, 2, 3, 4, 13)) ||
-            (persianDate.shMonth == 3 && day in listOf(14,15)) ||
-            (persianDate.shMonth == 11 && day in listOf(22)) ||
-            (persianDate.shMonth == 12 && day in listOf(29))
+            date.dayOfWeek == 6 ||
+            (shMonth == 1 && (day in 1..4 || day == 13)) ||
+            (shMonth == 3 && day in 14..15) ||
+            (shMonth == 11 && day == 22) ||
+            (shMonth == 12 && day == 29)
         ) {
             ColorStateList.valueOf(Color.RED)
         } else {
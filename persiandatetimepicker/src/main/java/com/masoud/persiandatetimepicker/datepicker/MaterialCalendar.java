@@ -1,10 +1,10 @@
 package com.masoud.persiandatetimepicker.datepicker;
 
-import android.annotation.SuppressLint;
 import android.content.Context;
 import android.content.res.Resources;
 import android.graphics.Canvas;
 import android.os.Bundle;
+import android.os.Looper;
 import android.view.ContextThemeWrapper;
 import android.view.LayoutInflater;
 import android.view.View;
@@ -28,7 +28,10 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.google.android.material.button.MaterialButton;
 import com.masoud.persiandatetimepicker.R;
+import com.masoud.persiandatetimepicker.utils.JalaliDates;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -47,6 +50,8 @@ public final class MaterialCalendar<S> extends PickerFragment<S> {
   private static final String CALENDAR_CONSTRAINTS_KEY = "CALENDAR_CONSTRAINTS_KEY";
   private static final String DAY_VIEW_DECORATOR_KEY = "DAY_VIEW_DECORATOR_KEY";
   private static final String CURRENT_MONTH_KEY = "CURRENT_MONTH_KEY";
+  private static final String MONTH_MODE_KEY = "MONTH_MODE_KEY";
+  private static final String PREFETCH_MONTHS_KEY = "PREFETCH_MONTHS_KEY";
   private static final int SMOOTH_SCROLL_MAX = 3;
 
   @VisibleForTesting
@@ -68,6 +73,11 @@ public final class MaterialCalendar<S> extends PickerFragment<S> {
   private DayViewDecorator dayViewDecorator;
   @Nullable
   private Month current;
+  @MaterialDatePicker.MonthMode
+  private int monthMode;
+  private int prefetchMonths;
+  @Nullable
+  private MaterialPickerOnMonthBindListener onMonthBindListener;
   private CalendarSelector calendarSelector;
   private CalendarStyle calendarStyle;
   private RecyclerView yearSelector;
@@ -91,6 +101,30 @@ public final class MaterialCalendar<S> extends PickerFragment<S> {
           @StyleRes int themeResId,
           @NonNull CalendarConstraints constraints,
           @Nullable DayViewDecorator dayViewDecorator) {
+    return newInstance(
+            dateSelector, themeResId, constraints, dayViewDecorator, MaterialDatePicker.MONTH_MODE_GRID);
+  }
+
+  @NonNull
+  public static <T> MaterialCalendar<T> newInstance(
+          @NonNull DateSelector<T> dateSelector,
+          @StyleRes int themeResId,
+          @NonNull CalendarConstraints constraints,
+          @Nullable DayViewDecorator dayViewDecorator,
+          @MaterialDatePicker.MonthMode int monthMode) {
+    return newInstance(
+            dateSelector, themeResId, constraints, dayViewDecorator, monthMode,
+            MaterialDatePicker.DEFAULT_PREFETCH_MONTHS);
+  }
+
+  @NonNull
+  public static <T> MaterialCalendar<T> newInstance(
+          @NonNull DateSelector<T> dateSelector,
+          @StyleRes int themeResId,
+          @NonNull CalendarConstraints constraints,
+          @Nullable DayViewDecorator dayViewDecorator,
+          @MaterialDatePicker.MonthMode int monthMode,
+          int prefetchMonths) {
     MaterialCalendar<T> mc = new MaterialCalendar<>();
     Bundle args = new Bundle();
     args.putInt(THEME_RES_ID_KEY, themeResId);
@@ -98,6 +132,8 @@ public final class MaterialCalendar<S> extends PickerFragment<S> {
     args.putParcelable(CALENDAR_CONSTRAINTS_KEY, constraints);
     args.putParcelable(DAY_VIEW_DECORATOR_KEY, dayViewDecorator);
     args.putParcelable(CURRENT_MONTH_KEY, constraints.getOpenAt());
+    args.putInt(MONTH_MODE_KEY, monthMode);
+    args.putInt(PREFETCH_MONTHS_KEY, prefetchMonths);
     mc.setArguments(args);
     return mc;
   }
@@ -110,6 +146,8 @@ public final class MaterialCalendar<S> extends PickerFragment<S> {
     out.putParcelable(CALENDAR_CONSTRAINTS_KEY, calendarConstraints);
     out.putParcelable(DAY_VIEW_DECORATOR_KEY, dayViewDecorator);
     out.putParcelable(CURRENT_MONTH_KEY, current);
+    out.putInt(MONTH_MODE_KEY, monthMode);
+    out.putInt(PREFETCH_MONTHS_KEY, prefetchMonths);
   }
 
   @Override
@@ -121,6 +159,8 @@ public final class MaterialCalendar<S> extends PickerFragment<S> {
     calendarConstraints = b.getParcelable(CALENDAR_CONSTRAINTS_KEY);
     dayViewDecorator = b.getParcelable(DAY_VIEW_DECORATOR_KEY);
     current = b.getParcelable(CURRENT_MONTH_KEY);
+    monthMode = b.getInt(MONTH_MODE_KEY);
+    prefetchMonths = b.getInt(PREFETCH_MONTHS_KEY, MaterialDatePicker.DEFAULT_PREFETCH_MONTHS);
   }
 
   @NonNull
@@ -157,9 +197,9 @@ public final class MaterialCalendar<S> extends PickerFragment<S> {
 
     int firstDayOfWeek = calendarConstraints.getFirstDayOfWeek();
     if (firstDayOfWeek > 0) {
-      daysHeader.setAdapter(new DaysOfWeekAdapter(firstDayOfWeek));
+      daysHeader.setAdapter(new DaysOfWeekAdapter(firstDayOfWeek, calendarConstraints.getLabels()));
     } else {
-      daysHeader.setAdapter(new DaysOfWeekAdapter());
+      daysHeader.setAdapter(new DaysOfWeekAdapter(calendarConstraints.getLabels()));
     }
     daysHeader.setNumColumns(earliest.daysInWeek);
     daysHeader.setEnabled(false);
@@ -174,28 +214,37 @@ public final class MaterialCalendar<S> extends PickerFragment<S> {
         extraSpace[1] = 0;
       }
     };
+    lm.setPrefetchMonths(prefetchMonths);
     recyclerView.setLayoutManager(lm);
     recyclerView.setTag(MONTHS_VIEW_GROUP_TAG);
 
-    @SuppressLint("NotifyDataSetChanged") final MonthsPagerAdapter monthsAdapter = new MonthsPagerAdapter(
+    final MonthsPagerAdapter monthsAdapter = new MonthsPagerAdapter(
             themedContext,
             dateSelector,
             calendarConstraints,
             dayViewDecorator,
             day -> {
               if (calendarConstraints.getDateValidator().isValid(day)) {
+                // Copied, so they still describe the selection before this tap
+                Collection<Long> previousDays = new ArrayList<>(dateSelector.getSelectedDays());
+                Collection<Pair<Long, Long>> previousRanges =
+                        new ArrayList<>(dateSelector.getSelectedRanges());
                 dateSelector.select(day);
                 for (OnSelectionChangedListener<S> l : onSelectionChangedListeners) {
                   l.onSelectionChanged(dateSelector.getSelection());
                 }
-                recyclerView.getAdapter().notifyDataSetChanged();
+                ((MonthsPagerAdapter) recyclerView.getAdapter())
+                        .notifySelectionChanged(previousDays, previousRanges);
 
                 if (yearSelector != null) {
-                  yearSelector.getAdapter().notifyDataSetChanged();
+                  ((YearGridAdapter) yearSelector.getAdapter()).notifySelectionChanged(previousDays);
                 }
               }
-            }
+            },
+            monthMode == MaterialDatePicker.MONTH_MODE_DRAWN,
+            prefetchMonths
     );
+    monthsAdapter.setOnMonthBindListener(onMonthBindListener);
 
     recyclerView.setAdapter(monthsAdapter);
 
@@ -216,10 +265,28 @@ public final class MaterialCalendar<S> extends PickerFragment<S> {
       new PagerSnapHelper().attachToRecyclerView(recyclerView);
     }
     recyclerView.scrollToPosition(monthsAdapter.getPosition(current));
+    // Readies the months around the first one once it is shown and nothing else is running
+    Looper.myQueue().addIdleHandler(() -> {
+      if (recyclerView != null && recyclerView.getAdapter() == monthsAdapter && current != null) {
+        monthsAdapter.warmNeighbours(recyclerView, monthsAdapter.getPosition(current));
+      }
+      return false;
+    });
     setUpForAccessibility();
     return root;
   }
 
+  /**
+   * Sets the listener told about each month page bound, see {@link
+   * MaterialPickerOnMonthBindListener}.
+   */
+  void setOnMonthBindListener(@Nullable MaterialPickerOnMonthBindListener listener) {
+    onMonthBindListener = listener;
+    if (recyclerView != null && recyclerView.getAdapter() instanceof MonthsPagerAdapter adapter) {
+      adapter.setOnMonthBindListener(listener);
+    }
+  }
+
   private void setUpForAccessibility() {
     ViewCompat.setAccessibilityDelegate(recyclerView, new AccessibilityDelegateCompat() {
       @Override
@@ -233,9 +300,6 @@ public final class MaterialCalendar<S> extends PickerFragment<S> {
   @NonNull
   private RecyclerView.ItemDecoration createItemDecoration() {
     return new RecyclerView.ItemDecoration() {
-      private final PersianCalendarHelper startItem = UtcDates.getUtcCalendar();
-      private final PersianCalendarHelper endItem = UtcDates.getUtcCalendar();
-
       @Override
       public void onDraw(@NonNull Canvas canvas, @NonNull RecyclerView rv, @NonNull RecyclerView.State state) {
         if (!(rv.getAdapter() instanceof YearGridAdapter adapter) ||
@@ -248,11 +312,8 @@ public final class MaterialCalendar<S> extends PickerFragment<S> {
           if (range.first == null || range.second == null) {
             continue;
           }
-          startItem.setTimeInMillis(range.first);
-          endItem.setTimeInMillis(range.second);
-
-          int startYear = startItem.get(PersianCalendarHelper.YEAR);
-          int endYear = endItem.get(PersianCalendarHelper.YEAR);
+          int startYear = JalaliDates.year(JalaliDates.ofEpochMillis(range.first));
+          int endYear = JalaliDates.year(JalaliDates.ofEpochMillis(range.second));
 
           int firstPos = adapter.getPositionForYear(startYear);
           int lastPos = adapter.getPositionForYear(endYear);
@@ -378,7 +439,7 @@ public final class MaterialCalendar<S> extends PickerFragment<S> {
     yearFrame = root.findViewById(R.id.mtrl_calendar_year_selector_frame);
     dayFrame = root.findViewById(R.id.mtrl_calendar_day_selector_frame);
     setSelector(CalendarSelector.DAY);
-    monthDropSelect.setText(current.getLongName());
+    monthDropSelect.setText(calendarConstraints.getLabels().monthYear(current));
     recyclerView.addOnScrollListener(new RecyclerView.OnScrollListener(){
       @Override
       public void onScrolled(@NonNull RecyclerView rv, int dx, int dy) {
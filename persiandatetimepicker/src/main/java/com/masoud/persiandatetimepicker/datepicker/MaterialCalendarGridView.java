@@ -17,11 +17,9 @@ import androidx.core.view.AccessibilityDelegateCompat;
 import androidx.core.view.ViewCompat;
 import androidx.core.view.accessibility.AccessibilityNodeInfoCompat;
 import com.masoud.persiandatetimepicker.R;
-import java.util.Calendar;
 
 final class MaterialCalendarGridView extends GridView {
 
-    private final PersianCalendarHelper dayCompute = UtcDates.getUtcCalendar();
     private final boolean nestedScrollable;
 
     public MaterialCalendarGridView(Context context) {
@@ -107,8 +105,9 @@ final class MaterialCalendarGridView extends GridView {
         int lastVisiblePositionInMonth =
                 Math.min(monthAdapter.lastPositionInMonth(), getLastVisiblePosition());
 
-        Long firstOfMonth = monthAdapter.getItem(firstVisiblePositionInMonth);
-        Long lastOfMonth = monthAdapter.getItem(lastVisiblePositionInMonth);
+        Month month = monthAdapter.getMonth();
+        long firstOfMonth = month.getDay(monthAdapter.positionToDay(firstVisiblePositionInMonth));
+        long lastOfMonth = month.getDay(monthAdapter.positionToDay(lastVisiblePositionInMonth));
 
         for (Pair<Long, Long> range : dateSelector.getSelectedRanges()) {
             if (range.first == null || range.second == null) continue;
@@ -128,8 +127,7 @@ final class MaterialCalendarGridView extends GridView {
                         (!isRtl ? getChildAtPosition(firstHighlightPosition - 1).getRight()
                                 : getChildAtPosition(firstHighlightPosition - 1).getLeft());
             } else {
-                dayCompute.setTimeInMillis(startItem);
-                firstHighlightPosition = monthAdapter.dayToPosition(dayCompute.get(Calendar.DAY_OF_MONTH));
+                firstHighlightPosition = monthAdapter.dayToPosition(month.getDayOfMonth(startItem));
                 rangeHighlightStart = horizontalMidPoint(getChildAtPosition(firstHighlightPosition));
             }
 
@@ -141,8 +139,7 @@ final class MaterialCalendarGridView extends GridView {
                         (!isRtl ? getChildAtPosition(lastHighlightPosition).getRight()
                                 : getChildAtPosition(lastHighlightPosition).getLeft());
             } else {
-                dayCompute.setTimeInMillis(endItem);
-                lastHighlightPosition = monthAdapter.dayToPosition(dayCompute.get(Calendar.DAY_OF_MONTH));
+                lastHighlightPosition = monthAdapter.dayToPosition(month.getDayOfMonth(endItem));
                 rangeHighlightEnd = horizontalMidPoint(getChildAtPosition(lastHighlightPosition));
             }
 
@@ -201,10 +198,10 @@ final class MaterialCalendarGridView extends GridView {
         return getChildAt(position - getFirstVisiblePosition());
     }
 
-    private static boolean skipMonth(@NonNull Long firstOfMonth,
-                                     @NonNull Long lastOfMonth,
-                                     @NonNull Long startDay,
-                                     @NonNull Long endDay) {
+    private static boolean skipMonth(long firstOfMonth,
+                                     long lastOfMonth,
+                                     long startDay,
+                                     long endDay) {
         return startDay > lastOfMonth || endDay < firstOfMonth;
     }
 
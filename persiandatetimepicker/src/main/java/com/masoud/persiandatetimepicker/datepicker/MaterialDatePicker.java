@@ -30,6 +30,7 @@ import android.widget.LinearLayout.LayoutParams;
 import android.widget.TextView;
 
 import androidx.annotation.IntDef;
+import androidx.annotation.IntRange;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.annotation.RestrictTo;
@@ -76,6 +77,8 @@ public final class MaterialDatePicker<S> extends DialogFragment {
     private static final String NEGATIVE_BUTTON_TEXT_RES_ID_KEY = "NEGATIVE_BUTTON_TEXT_RES_ID_KEY";
     private static final String NEGATIVE_BUTTON_TEXT_KEY = "NEGATIVE_BUTTON_TEXT_KEY";
     private static final String INPUT_MODE_KEY = "INPUT_MODE_KEY";
+    private static final String MONTH_MODE_KEY = "MONTH_MODE_KEY";
+    private static final String PREFETCH_MONTHS_KEY = "PREFETCH_MONTHS_KEY";
 
     static final Object CONFIRM_BUTTON_TAG = "CONFIRM_BUTTON_TAG";
     static final Object CANCEL_BUTTON_TAG = "CANCEL_BUTTON_TAG";
@@ -100,11 +103,36 @@ public final class MaterialDatePicker<S> extends DialogFragment {
     public @interface InputMode {
     }
 
+    /**
+     * Each month is a grid with a view per day.
+     */
+    public static final int MONTH_MODE_GRID = 0;
+
+    /**
+     * Each month is a single view that draws its days, with a virtual accessibility node per day.
+     */
+    public static final int MONTH_MODE_DRAWN = 1;
+
+    /**
+     * @hide
+     */
+    @RestrictTo(LIBRARY_GROUP)
+    @IntDef(value = {MONTH_MODE_GRID, MONTH_MODE_DRAWN})
+    @Retention(RetentionPolicy.SOURCE)
+    public @interface MonthMode {
+    }
+
+    /**
+     * Months on each side of the shown one that are readied ahead, see {@link
+     * Builder#setPrefetchMonths(int)}.
+     */
+    public static final int DEFAULT_PREFETCH_MONTHS = 1;
+
     /**
      * Returns the UTC milliseconds representing the first moment of today in local timezone.
      */
     public static long todayInUtcMilliseconds() {
-        return UtcDates.getTodayCalendar().getTimeInMillis();
+        return UtcDates.getTodayCanonical();
     }
 
     /**
@@ -148,6 +176,11 @@ public final class MaterialDatePicker<S> extends DialogFragment {
     private boolean fullscreen;
     @InputMode
     private int inputMode;
+    @MonthMode
+    private int monthMode;
+    private int prefetchMonths;
+    @Nullable
+    private MaterialPickerOnMonthBindListener onMonthBindListener;
     @StringRes
     private int positiveButtonTextResId;
     private CharSequence positiveButtonText;
@@ -180,6 +213,8 @@ public final class MaterialDatePicker<S> extends DialogFragment {
         args.putInt(TITLE_TEXT_RES_ID_KEY, options.titleTextResId);
         args.putCharSequence(TITLE_TEXT_KEY, options.titleText);
         args.putInt(INPUT_MODE_KEY, options.inputMode);
+        args.putInt(MONTH_MODE_KEY, options.monthMode);
+        args.putInt(PREFETCH_MONTHS_KEY, options.prefetchMonths);
         args.putInt(POSITIVE_BUTTON_TEXT_RES_ID_KEY, options.positiveButtonTextResId);
         args.putCharSequence(POSITIVE_BUTTON_TEXT_KEY, options.positiveButtonText);
         args.putInt(NEGATIVE_BUTTON_TEXT_RES_ID_KEY, options.negativeButtonTextResId);
@@ -205,6 +240,8 @@ public final class MaterialDatePicker<S> extends DialogFragment {
         bundle.putInt(TITLE_TEXT_RES_ID_KEY, titleTextResId);
         bundle.putCharSequence(TITLE_TEXT_KEY, titleText);
         bundle.putInt(INPUT_MODE_KEY, inputMode);
+        bundle.putInt(MONTH_MODE_KEY, monthMode);
+        bundle.putInt(PREFETCH_MONTHS_KEY, prefetchMonths);
         bundle.putInt(POSITIVE_BUTTON_TEXT_RES_ID_KEY, positiveButtonTextResId);
         bundle.putCharSequence(POSITIVE_BUTTON_TEXT_KEY, positiveButtonText);
         bundle.putInt(NEGATIVE_BUTTON_TEXT_RES_ID_KEY, negativeButtonTextResId);
@@ -223,6 +260,8 @@ public final class MaterialDatePicker<S> extends DialogFragment {
         titleTextResId = activeBundle.getInt(TITLE_TEXT_RES_ID_KEY);
         titleText = activeBundle.getCharSequence(TITLE_TEXT_KEY);
         inputMode = activeBundle.getInt(INPUT_MODE_KEY);
+        monthMode = activeBundle.getInt(MONTH_MODE_KEY);
+        prefetchMonths = activeBundle.getInt(PREFETCH_MONTHS_KEY, DEFAULT_PREFETCH_MONTHS);
         positiveButtonTextResId = activeBundle.getInt(POSITIVE_BUTTON_TEXT_RES_ID_KEY);
         positiveButtonText = activeBundle.getCharSequence(POSITIVE_BUTTON_TEXT_KEY);
         negativeButtonTextResId = activeBundle.getInt(NEGATIVE_BUTTON_TEXT_RES_ID_KEY);
@@ -459,7 +498,9 @@ public final class MaterialDatePicker<S> extends DialogFragment {
         int themeResId = getThemeResId(requireContext());
         calendar =
                 MaterialCalendar.newInstance(
-                        getDateSelector(), themeResId, calendarConstraints, dayViewDecorator);
+                        getDateSelector(), themeResId, calendarConstraints, dayViewDecorator, monthMode,
+                        prefetchMonths);
+        calendar.setOnMonthBindListener(onMonthBindListener);
 
         pickerFragment =
                 inputMode == INPUT_MODE_TEXT
@@ -674,6 +715,17 @@ public final class MaterialDatePicker<S> extends DialogFragment {
         onDismissListeners.clear();
     }
 
+    /**
+     * Sets the listener told, for each month page the calendar binds, whether its days had been
+     * prefetched, to measure {@link Builder#setPrefetchMonths(int)}. Pass null to remove it.
+     */
+    public void setOnMonthBindListener(@Nullable MaterialPickerOnMonthBindListener listener) {
+        onMonthBindListener = listener;
+        if (calendar != null) {
+            calendar.setOnMonthBindListener(listener);
+        }
+    }
+
     /**
      * Used to create MaterialDatePicker instances with default and overridden settings
      */
@@ -695,6 +747,9 @@ public final class MaterialDatePicker<S> extends DialogFragment {
         S selection = null;
         @InputMode
         int inputMode = INPUT_MODE_CALENDAR;
+        @MonthMode
+        int monthMode = MONTH_MODE_GRID;
+        int prefetchMonths = DEFAULT_PREFETCH_MONTHS;
 
         private Builder(DateSelector<S> dateSelector) {
             this.dateSelector = dateSelector;
@@ -863,6 +918,27 @@ public final class MaterialDatePicker<S> extends DialogFragment {
             return this;
         }
 
+        /**
+         * Sets how the months of the calendar are shown. {@link #MONTH_MODE_DRAWN} draws each
+         * month in one view instead of about 45, at the cost of the day ripples.
+         */
+        @NonNull
+        public Builder<S> setMonthMode(@MonthMode int monthMode) {
+            this.monthMode = monthMode;
+            return this;
+        }
+
+        /**
+         * Sets how many months on each side of the shown one have their days built and their
+         * pages created ahead, while idle and between frames of a scroll, so swiping to them does
+         * not stall. 0 turns this off; the default is {@link #DEFAULT_PREFETCH_MONTHS}.
+         */
+        @NonNull
+        public Builder<S> setPrefetchMonths(@IntRange(from = 0) int prefetchMonths) {
+            this.prefetchMonths = prefetchMonths;
+            return this;
+        }
+
         /**
          * Creates a {@link MaterialDatePicker} with the provided options.
          */
@@ -0,0 +1,11 @@
+package com.masoud.persiandatetimepicker.datepicker;
+
+/** Listener told about each month page the calendar binds, to measure how well prefetch works. */
+public interface MaterialPickerOnMonthBindListener {
+
+  /**
+   * Called when a page is bound to a new month. {@code prefetched} is whether its days had been
+   * built ahead of the bind, instead of cold on the main thread during it.
+   */
+  void onMonthBind(boolean prefetched);
+}
@@ -4,14 +4,17 @@ import android.os.Parcel;
 import android.os.Parcelable;
 import androidx.annotation.IntDef;
 import androidx.annotation.NonNull;
-import androidx.annotation.Nullable;
+
+import com.masoud.persiandatetimepicker.utils.JalaliCalendar;
+import com.masoud.persiandatetimepicker.utils.JalaliYearTable;
 
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
-import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * Represents a single month in a Persian sense. 0-based months: 0=Farvardin, 11=Esfand.
+ * Days are UTC midnights, so {@link #timeInMillis} is the first moment of day 1 in UTC.
  */
 final class Month implements Comparable<Month>, Parcelable {
 
@@ -29,6 +32,14 @@ final class Month implements Comparable<Month>, Parcelable {
   public static final int BAHMAN      = 10;
   public static final int ESFAND      = 11;
 
+  private static final int DAYS_IN_WEEK = 7;
+
+  // Months of the default picker range are interned here, index (year - CACHE_FIRST_YEAR) * 12 + month
+  private static final int CACHE_FIRST_YEAR = JalaliYearTable.DEFAULT_FIRST_YEAR;
+  private static final int CACHE_LAST_YEAR = JalaliYearTable.DEFAULT_LAST_YEAR;
+  private static final AtomicReferenceArray<Month> CACHE =
+          new AtomicReferenceArray<>((CACHE_LAST_YEAR - CACHE_FIRST_YEAR + 1) * 12);
+
   @Retention(RetentionPolicy.SOURCE)
   @IntDef({
           FARVARDIN, ORDIBEHESHT, KHORDAD, TIR, MORDAD, SHAHRIVAR, MEHR, ABAN, AZAR, DEY, BAHMAN, ESFAND
@@ -36,49 +47,61 @@ final class Month implements Comparable<Month>, Parcelable {
   @interface Months {
   }
 
-  @NonNull
-  private final PersianCalendarHelper firstOfMonth;
   @Months
   final int month;
   final int year;
   final int daysInWeek;
   final int daysInMonth;
   final long timeInMillis;
+  private final long firstEpochDay;
+  // Day of week of day 1, 0 = Saturday
+  private final int dayOfWeekOfFirst;
 
-  @Nullable
-  private String longName;
-
-  private Month(@NonNull PersianCalendarHelper raw) {
-    // Move day_of_month to 1
-    raw.set(PersianCalendarHelper.DAY_OF_MONTH, 1);
-    this.firstOfMonth = UtcDates.getDayCopy(raw);
-    this.month = firstOfMonth.get(PersianCalendarHelper.MONTH);
-    this.year = firstOfMonth.get(PersianCalendarHelper.YEAR);
-    this.daysInWeek = firstOfMonth.getMaximum(PersianCalendarHelper.DAY_OF_WEEK);
-    this.daysInMonth = firstOfMonth.getActualMaximum(PersianCalendarHelper.DAY_OF_MONTH);
-    this.timeInMillis = firstOfMonth.getTimeInMillis();
+  private Month(int year, @Months int month) {
+    this.year = year;
+    this.month = month;
+    this.daysInWeek = DAYS_IN_WEEK;
+    this.daysInMonth = JalaliCalendar.monthLength(year, month + 1);
+    this.firstEpochDay = JalaliCalendar.jalaliToEpochDay(year, month + 1, 1);
+    this.timeInMillis = JalaliCalendar.epochDayToEpochMillis(firstEpochDay);
+    this.dayOfWeekOfFirst = JalaliCalendar.dayOfWeek(firstEpochDay);
   }
 
   static Month create(long timeInMillis) {
-    PersianCalendarHelper helper = UtcDates.getUtcCalendar();
-    helper.setTimeInMillis(timeInMillis);
-    return new Month(helper);
+    int packed = JalaliCalendar.epochDayToPackedJalali(JalaliCalendar.epochMillisToEpochDay(timeInMillis));
+    return of(JalaliCalendar.year(packed), JalaliCalendar.month(packed) - 1);
   }
 
   static Month create(int year, @Months int month) {
-    PersianCalendarHelper helper = UtcDates.getUtcCalendar();
-    helper.set(PersianCalendarHelper.YEAR, year);
-    helper.set(PersianCalendarHelper.MONTH, month);
-    return new Month(helper);
+    return of(year + Math.floorDiv(month, 12), Math.floorMod(month, 12));
+  }
+
+  /**
+   * Returns the interned instance for a normalized year and month, creating it on first use.
+   */
+  private static Month of(int year, int month) {
+    if (year < CACHE_FIRST_YEAR || year > CACHE_LAST_YEAR) {
+      return new Month(year, month);
+    }
+    int index = (year - CACHE_FIRST_YEAR) * 12 + month;
+    Month cached = CACHE.get(index);
+    if (cached == null) {
+      // A racing thread may intern an equal instance first; either one is fine to return
+      cached = new Month(year, month);
+      if (!CACHE.compareAndSet(index, null, cached)) {
+        cached = CACHE.get(index);
+      }
+    }
+    return cached;
   }
 
   static Month current() {
-    return new Month(UtcDates.getTodayCalendar());
+    return create(UtcDates.getTodayCanonical());
   }
 
   int daysFromStartOfWeekToFirstOfMonth(int firstDayOfWeek) {
     // Similar logic: day_of_week of day1 minus firstDayOfWeek
-    int difference = firstOfMonth.get(PersianCalendarHelper.DAY_OF_WEEK) - firstDayOfWeek;
+    int difference = dayOfWeekOfFirst - firstDayOfWeek;
     if (difference < 0) {
       difference += daysInWeek;
     }
@@ -94,8 +117,7 @@ final class Month implements Comparable<Month>, Parcelable {
 
   @Override
   public int hashCode() {
-    Object[] hashedFields = {month, year};
-    return Arrays.hashCode(hashedFields);
+    return 31 * year + month;
   }
 
   @Override
@@ -111,32 +133,20 @@ final class Month implements Comparable<Month>, Parcelable {
   }
 
   long getStableId() {
-    return firstOfMonth.getTimeInMillis();
+    return timeInMillis;
   }
 
   long getDay(int day) {
-    PersianCalendarHelper c = UtcDates.getDayCopy(firstOfMonth);
-    c.set(PersianCalendarHelper.DAY_OF_MONTH, day);
-    return c.getTimeInMillis();
+    return JalaliCalendar.epochDayToEpochMillis(firstEpochDay + day - 1);
   }
 
   int getDayOfMonth(long date) {
-    PersianCalendarHelper c = UtcDates.getDayCopy(firstOfMonth);
-    c.setTimeInMillis(date);
-    return c.get(PersianCalendarHelper.DAY_OF_MONTH);
+    int packed = JalaliCalendar.epochDayToPackedJalali(JalaliCalendar.epochMillisToEpochDay(date));
+    return JalaliCalendar.day(packed);
   }
 
   Month monthsLater(int months) {
-    PersianCalendarHelper cal = UtcDates.getDayCopy(firstOfMonth);
-    cal.add(PersianCalendarHelper.MONTH, months);
-    return new Month(cal);
-  }
-
-  String getLongName() {
-    if (longName == null) {
-      longName = DateStrings.getYearMonth(firstOfMonth.getTimeInMillis());
-    }
-    return longName;
+    return create(year, month + months);
   }
 
   public static final Creator<Month> CREATOR = new Creator<>() {
@@ -7,7 +7,6 @@ import android.view.ViewGroup
 import android.widget.BaseAdapter
 import android.widget.TextView
 import com.masoud.persiandatetimepicker.R
-import com.masoud.persiandatetimepicker.datepicker.UtcDates.canonicalYearMonthDay
 
 /**
  * Represents the days of a particular month with TextView for each day.
@@ -16,15 +15,20 @@ internal class MonthAdapter(
   val month: Month,
   @JvmField val dateSelector: DateSelector<*>,
   val calendarConstraints: CalendarConstraints,
-  val dayViewDecorator: DayViewDecorator?
+  val dayViewDecorator: DayViewDecorator?,
+  /**
+   * The selection this month is styled for; moved on by the pager when it changes.
+   */
+  var selection: SelectionSnapshot
 ) : BaseAdapter() {
-    private var previouslySelectedDates: MutableCollection<Long>
     @JvmField
     var calendarStyle: CalendarStyle? = null
 
-    init {
-        this.previouslySelectedDates = dateSelector.selectedDays
-    }
+    /**
+     * The model the days are bound from, possibly built ahead on [MonthCells.EXECUTOR]; see
+     * [getCells].
+     */
+    var cells: MonthCells? = null
 
     override fun hasStableIds(): Boolean {
         return true
@@ -63,82 +67,86 @@ internal class MonthAdapter(
         } else {
             dayNumber = offset + 1
             dayTextView.tag = month
-            dayTextView.text = dayNumber.toString()
+            dayTextView.text = calendarConstraints.labels.dayNumber(dayNumber)
             dayTextView.visibility = View.VISIBLE
             dayTextView.isEnabled = true
         }
 
-        val date = getItem(position)
-        if (date == null) {
+        if (dayNumber == NO_DAY_NUMBER) {
             return dayTextView
         }
-        updateSelectedState(dayTextView, date, dayNumber)
+        // Rebuilt only when the selection or today changed, e.g. when the picker stays open past midnight
+        updateSelectedState(dayTextView, getCells(parent.context), dayNumber)
         return dayTextView
     }
 
-    fun updateSelectedStates(monthGrid: MaterialCalendarGridView) {
+    fun updateSelectedStates(monthGrid: MaterialCalendarGridView, selection: SelectionSnapshot) {
+        val previousDays = this.selection.selectedDays
+        this.selection = selection
+        // Rebuilt for the new selection
+        val cells = getCells(monthGrid.context)
         // Update previously selected
-        for (date in previouslySelectedDates) {
-            updateSelectedStateForDate(monthGrid, date)
+        for (date in previousDays) {
+            if (date != null) updateSelectedStateForDate(monthGrid, cells, date)
         }
-        // Update current
-        for (date in dateSelector.selectedDays) {
-            updateSelectedStateForDate(monthGrid, date)
+        // Update current, skipping the days already restyled above
+        for (date in selection.selectedDays) {
+            if (date != null && date !in previousDays) {
+                updateSelectedStateForDate(monthGrid, cells, date)
+            }
         }
-        previouslySelectedDates = dateSelector.selectedDays
     }
 
-    private fun updateSelectedStateForDate(monthGrid: MaterialCalendarGridView, date: Long) {
+    private fun updateSelectedStateForDate(
+        monthGrid: MaterialCalendarGridView,
+        cells: MonthCells,
+        date: Long
+    ) {
         if (Month.create(date) == month) {
             val day = month.getDayOfMonth(date)
             val position = dayToPosition(day)
             val child = monthGrid.getChildAt(position - monthGrid.firstVisiblePosition)
             if (child is TextView) {
-                updateSelectedState(child, date, day)
+                updateSelectedState(child, cells, day)
             }
         }
     }
 
-    private fun updateSelectedState(dayTextView: TextView?, date: Long, dayNumber: Int) {
+    /**
+     * The model of this month for [selection], built here on the main thread only when none
+     * was built ahead or the selection changed since. Checking it costs one comparison, so
+     * drawing and accessibility call this freely.
+     */
+    fun getCells(context: Context): MonthCells {
+        val current = cells
+        if (current != null && current.isCurrent(selection)) {
+            return current
+        }
+        return MonthCells.build(context, month, calendarConstraints, dayViewDecorator, selection)
+            .also { cells = it }
+    }
+
+    private fun updateSelectedState(dayTextView: TextView?, cells: MonthCells, dayNumber: Int) {
         if (dayTextView == null) {
             return
         }
         val context = dayTextView.context
-        val contentDescription = DateStrings.getDayContentDescription(
-            context, date,
-            isToday(date),
-            isStartOfRange(date),
-            isEndOfRange(date)
-        )
-        dayTextView.contentDescription = contentDescription
-
-        val style: CalendarItemStyle
-        val valid = calendarConstraints.dateValidator.isValid(date)
-        var selected = false
+        val valid = cells.isValid(dayNumber)
+        val selected = cells.isSelected(dayNumber)
+        dayTextView.isEnabled = valid
         if (valid) {
-            dayTextView.isEnabled = true
-            selected = isSelected(date)
             dayTextView.isSelected = selected
-            style = if (selected) {
-                calendarStyle!!.selectedDay
-            } else if (isToday(date)) {
-                calendarStyle!!.todayDay
-            } else {
-                calendarStyle!!.day
-            }
-        } else {
-            dayTextView.isEnabled = false
-            style = calendarStyle!!.invalidDay
         }
+        val style = getDayStyle(cells, dayNumber)
 
-        if (dayViewDecorator != null && dayNumber != NO_DAY_NUMBER) {
+        if (dayViewDecorator != null) {
             val y = month.year
             val m = month.month
             // allow custom
             style.styleItem(
                 dayTextView,
-                dayViewDecorator.getBackgroundColor(context, y, m, dayNumber, valid, selected),
-                dayViewDecorator.getTextColor(context, y, m, dayNumber, valid, selected)
+                cells.getBackgroundColor(dayNumber),
+                cells.getTextColor(dayNumber)
             )
 
             val drawableLeft =
@@ -161,53 +169,47 @@ internal class MonthAdapter(
                 drawableRight,
                 drawableBottom
             )
-
-            val decoratorContentDescription =
-                dayViewDecorator.getContentDescription(
-                    context,
-                    y,
-                    m,
-                    dayNumber,
-                    valid,
-                    selected,
-                    contentDescription
-                )
-            dayTextView.contentDescription = decoratorContentDescription
         } else {
             style.styleItem(dayTextView)
         }
-    }
-
-    private fun isToday(date: Long): Boolean {
-        return canonicalYearMonthDay(date) == UtcDates.todayCanonical
-    }
-
-    private fun isStartOfRange(date: Long): Boolean {
-        for (range in dateSelector.selectedRanges) {
-            if (range.first != null && range.first == date) {
-                return true
-            }
-        }
-        return false
-    }
-
-    private fun isEndOfRange(date: Long): Boolean {
-        for (range in dateSelector.selectedRanges) {
-            if (range.second != null && range.second == date) {
-                return true
-            }
+        dayTextView.contentDescription = getDayContentDescription(context, cells, dayNumber)
+    }
+
+    /**
+     * The style [dayNumber] is shown with, as flagged in [cells].
+     */
+    fun getDayStyle(cells: MonthCells, dayNumber: Int): CalendarItemStyle {
+        val style = calendarStyle!!
+        return when {
+            !cells.isValid(dayNumber) -> style.invalidDay
+            cells.isSelected(dayNumber) -> style.selectedDay
+            cells.isToday(dayNumber) -> style.todayDay
+            else -> style.day
         }
-        return false
     }
 
-    private fun isSelected(date: Long): Boolean {
-        val canonicalDate = canonicalYearMonthDay(date)
-        for (selectedDay in dateSelector.selectedDays) {
-            if (canonicalDate == canonicalYearMonthDay(selectedDay)) {
-                return true
-            }
+    /**
+     * The accessibility description of [dayNumber], including the [DayViewDecorator] one.
+     */
+    fun getDayContentDescription(context: Context, cells: MonthCells, dayNumber: Int): CharSequence? {
+        val contentDescription = DayContentDescriptions.get(
+            context, cells.getDay(dayNumber),
+            cells.isToday(dayNumber),
+            cells.isStartOfRange(dayNumber),
+            cells.isEndOfRange(dayNumber)
+        )
+        if (dayViewDecorator == null) {
+            return contentDescription
         }
-        return false
+        return dayViewDecorator.getContentDescription(
+            context,
+            month.year,
+            month.month,
+            dayNumber,
+            cells.isValid(dayNumber),
+            cells.isSelected(dayNumber),
+            contentDescription
+        )
     }
 
     private fun initializeStyles(context: Context) {
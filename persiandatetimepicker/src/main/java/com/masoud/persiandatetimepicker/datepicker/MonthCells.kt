@@ -0,0 +1,181 @@
+package com.masoud.persiandatetimepicker.datepicker
+
+import android.content.Context
+import android.content.res.ColorStateList
+import java.util.concurrent.Executor
+import java.util.concurrent.Executors
+
+/**
+ * What a [MonthAdapter] shows for each day of its month under one selection: the day, its
+ * flags and its [DayViewDecorator] colors, indexed by day of month.
+ *
+ * It is immutable and reads nothing from views. The days and their selection and today flags
+ * can be worked out on [EXECUTOR] before the page is shown, as a [Draft]; the [DateValidator]
+ * and the decorator are only ever called on the main thread, when the draft is finished. A
+ * model goes stale when the selection or today changes, see [isCurrent].
+ */
+internal class MonthCells private constructor(
+    val month: Month,
+    private val today: Long,
+    private val selectionVersion: Int,
+    private val days: LongArray,
+    private val flags: IntArray,
+    private val backgroundColors: Array<ColorStateList?>?,
+    private val textColors: Array<ColorStateList?>?
+) {
+    fun getDay(day: Int): Long {
+        return days[day - 1]
+    }
+
+    fun isValid(day: Int): Boolean {
+        return flags[day - 1] and VALID != 0
+    }
+
+    fun isSelected(day: Int): Boolean {
+        return flags[day - 1] and SELECTED != 0
+    }
+
+    fun isToday(day: Int): Boolean {
+        return flags[day - 1] and TODAY != 0
+    }
+
+    fun isStartOfRange(day: Int): Boolean {
+        return flags[day - 1] and START_OF_RANGE != 0
+    }
+
+    fun isEndOfRange(day: Int): Boolean {
+        return flags[day - 1] and END_OF_RANGE != 0
+    }
+
+    fun getBackgroundColor(day: Int): ColorStateList? {
+        return backgroundColors?.get(day - 1)
+    }
+
+    fun getTextColor(day: Int): ColorStateList? {
+        return textColors?.get(day - 1)
+    }
+
+    /**
+     * Whether this was built for [selection] and for today.
+     */
+    fun isCurrent(selection: SelectionSnapshot): Boolean {
+        return selectionVersion == selection.version && today == UtcDates.todayCanonical
+    }
+
+    /**
+     * The days of [month] with their selection and today flags, the part of a [MonthCells] that
+     * calls no user code. Its arrays are handed over to the model [build] makes of it.
+     */
+    class Draft internal constructor(
+        val month: Month,
+        internal val today: Long,
+        internal val selectionVersion: Int,
+        internal val days: LongArray,
+        internal val flags: IntArray
+    ) {
+        fun isCurrent(selection: SelectionSnapshot): Boolean {
+            return selectionVersion == selection.version && today == UtcDates.todayCanonical
+        }
+    }
+
+    companion object {
+        private const val VALID = 1
+        private const val SELECTED = 2
+        private const val TODAY = 4
+        private const val START_OF_RANGE = 8
+        private const val END_OF_RANGE = 16
+
+        /**
+         * Runs the drafts ahead of a page; one thread is plenty for a few months of days.
+         */
+        @JvmField
+        val EXECUTOR: Executor = Executors.newSingleThreadExecutor { runnable ->
+            Thread(runnable, "MonthCells").apply { isDaemon = true }
+        }
+
+        /**
+         * Works out the days of [month] and their flags under [selection]. Safe to call from
+         * any thread.
+         */
+        @JvmStatic
+        fun draft(month: Month, selection: SelectionSnapshot): Draft {
+            val count = month.daysInMonth
+            val today = UtcDates.todayCanonical
+            val selected = selection.canonicalDays
+            val days = LongArray(count)
+            val flags = IntArray(count)
+            for (index in 0 until count) {
+                // Already a UTC midnight
+                val date = month.getDay(index + 1)
+                days[index] = date
+                var dayFlags = 0
+                for (selectedDay in selected) {
+                    if (selectedDay == date) dayFlags = dayFlags or SELECTED
+                }
+                if (date == today) dayFlags = dayFlags or TODAY
+                for (range in selection.selectedRanges) {
+                    if (range?.first == date) dayFlags = dayFlags or START_OF_RANGE
+                    if (range?.second == date) dayFlags = dayFlags or END_OF_RANGE
+                }
+                flags[index] = dayFlags
+            }
+            return Draft(month, today, selection.version, days, flags)
+        }
+
+        /**
+         * Finishes [draft] with the validator of [constraints] and the colors of [decorator].
+         * Main thread only, as both are user code.
+         */
+        @JvmStatic
+        fun build(
+            context: Context,
+            draft: Draft,
+            constraints: CalendarConstraints,
+            decorator: DayViewDecorator?
+        ): MonthCells {
+            val month = draft.month
+            val count = month.daysInMonth
+            val validator = constraints.dateValidator
+            val flags = draft.flags
+            val backgroundColors = if (decorator != null) arrayOfNulls<ColorStateList>(count) else null
+            val textColors = if (decorator != null) arrayOfNulls<ColorStateList>(count) else null
+            for (index in 0 until count) {
+                // Only a valid day shows as selected
+                val dayFlags = if (validator.isValid(draft.days[index])) {
+                    flags[index] or VALID
+                } else {
+                    flags[index] and SELECTED.inv()
+                }
+                flags[index] = dayFlags
+
+                if (decorator != null) {
+                    val valid = dayFlags and VALID != 0
+                    val isSelected = dayFlags and SELECTED != 0
+                    backgroundColors!![index] = decorator.getBackgroundColor(
+                        context, month.year, month.month, index + 1, valid, isSelected
+                    )
+                    textColors!![index] = decorator.getTextColor(
+                        context, month.year, month.month, index + 1, valid, isSelected
+                    )
+                }
+            }
+            return MonthCells(
+                month, draft.today, draft.selectionVersion, draft.days, flags, backgroundColors, textColors
+            )
+        }
+
+        /**
+         * Builds the model of [month] under [selection] at once, on the main thread.
+         */
+        @JvmStatic
+        fun build(
+            context: Context,
+            month: Month,
+            constraints: CalendarConstraints,
+            decorator: DayViewDecorator?,
+            selection: SelectionSnapshot
+        ): MonthCells {
+            return build(context, draft(month, selection), constraints, decorator)
+        }
+    }
+}
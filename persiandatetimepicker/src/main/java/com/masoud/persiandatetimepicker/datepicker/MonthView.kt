@@ -0,0 +1,422 @@
+package com.masoud.persiandatetimepicker.datepicker
+
+import android.annotation.SuppressLint
+import android.content.Context
+import android.graphics.Canvas
+import android.graphics.Rect
+import android.graphics.drawable.Drawable
+import android.os.Bundle
+import android.util.AttributeSet
+import android.view.KeyEvent
+import android.view.MotionEvent
+import android.view.SoundEffectConstants
+import android.view.View
+import android.view.accessibility.AccessibilityEvent
+import androidx.core.view.ViewCompat
+import androidx.core.view.accessibility.AccessibilityNodeInfoCompat
+import androidx.customview.widget.ExploreByTouchHelper
+import com.masoud.persiandatetimepicker.R
+import kotlin.math.max
+import kotlin.math.min
+
+/**
+ * Draws the days of a month on a single canvas, an alternative to [MaterialCalendarGridView] that
+ * needs one view per page instead of one per day, see [MaterialDatePicker.MONTH_MODE_DRAWN].
+ *
+ * The days come from a [MonthAdapter], whose [View]s are never created. Day numbers, selection
+ * markers, the range fill and [DayViewDecorator] colors and drawables are drawn with the paints
+ * and shapes of its [CalendarStyle], laid out like the grid: [MonthAdapter.MAXIMUM_WEEKS] rows
+ * in the layout direction. Each day is exposed to accessibility services as a virtual view.
+ */
+internal class MonthView @JvmOverloads constructor(
+    context: Context,
+    attrs: AttributeSet? = null,
+    defStyleAttr: Int = 0
+) : View(context, attrs, defStyleAttr) {
+    private val dayHeight: Int = MaterialCalendar.getDayHeight(context)
+    private val horizontalSpacing: Int =
+        resources.getDimensionPixelOffset(R.dimen.mtrl_calendar_month_horizontal_padding)
+    private val verticalSpacing: Int =
+        resources.getDimensionPixelOffset(R.dimen.mtrl_calendar_month_vertical_padding)
+
+    private val accessibilityHelper = DayAccessibilityHelper()
+    private val cellBounds = Rect()
+
+    // Widths of the day numbers, measured on first draw; index 0 is unused
+    private var dayNumberWidths: FloatArray? = null
+    private var pressedDay = NO_DAY
+
+    /**
+     * The month drawn; its [MonthAdapter.calendarStyle] must be set.
+     */
+    var adapter: MonthAdapter? = null
+        set(value) {
+            field = value
+            pressedDay = NO_DAY
+            accessibilityHelper.invalidateRoot()
+            invalidate()
+        }
+
+    var onDayClickListener: MaterialCalendar.OnDayClickListener? = null
+
+    init {
+        isFocusable = true
+        if (MaterialDatePicker.isFullscreen(context)) {
+            nextFocusLeftId = R.id.cancel_button
+            nextFocusRightId = R.id.confirm_button
+        }
+        ViewCompat.setAccessibilityDelegate(this, accessibilityHelper)
+    }
+
+    /**
+     * Redraws the days after the selection changed to [selection].
+     */
+    fun updateSelectedStates(selection: SelectionSnapshot) {
+        adapter?.selection = selection
+        accessibilityHelper.invalidateRoot()
+        invalidate()
+    }
+
+    override fun onMeasure(widthMeasureSpec: Int, heightMeasureSpec: Int) {
+        val weeks = MonthAdapter.MAXIMUM_WEEKS
+        val height = paddingTop + paddingBottom + weeks * dayHeight + (weeks - 1) * verticalSpacing
+        setMeasuredDimension(
+            getDefaultSize(suggestedMinimumWidth, widthMeasureSpec),
+            resolveSize(height, heightMeasureSpec)
+        )
+    }
+
+    override fun onDraw(canvas: Canvas) {
+        super.onDraw(canvas)
+        val adapter = adapter ?: return
+        val calendarStyle = adapter.calendarStyle ?: return
+        drawRangeFill(canvas, adapter, calendarStyle)
+
+        val month = adapter.month
+        val labels = adapter.calendarConstraints.labels
+        val paint = calendarStyle.dayText
+        val widths = dayNumberWidths ?: FloatArray(MAX_DAY + 1) {
+            if (it == 0) 0f else paint.measureText(labels.dayNumber(it))
+        }.also { dayNumberWidths = it }
+        // From the vertical center of the text to its baseline
+        val baselineOffset = -(paint.ascent() + paint.descent()) / 2
+        val decorator = adapter.dayViewDecorator
+        val cells = adapter.getCells(context)
+
+        for (day in 1..month.daysInMonth) {
+            getCellBounds(adapter.dayToPosition(day), month.daysInWeek, cellBounds)
+            val valid = cells.isValid(day)
+            val selected = cells.isSelected(day)
+            val style = adapter.getDayStyle(cells, day)
+            val state = STATES[stateIndex(day, valid, selected)]
+
+            var textLeft = cellBounds.left
+            var textTop = cellBounds.top
+            var textRight = cellBounds.right
+            var textBottom = cellBounds.bottom
+            if (decorator != null) {
+                val y = month.year
+                val m = month.month
+                style.drawItemBackground(canvas, cellBounds, state, cells.getBackgroundColor(day))
+                paint.color = style.getTextColor(state, cells.getTextColor(day))
+                // Around the text, as TextView places compound drawables
+                decorator.getCompoundDrawableLeft(context, y, m, day, valid, selected)?.let {
+                    drawAt(canvas, it, cellBounds.left, cellBounds.centerY() - it.bounds.height() / 2)
+                    textLeft += it.bounds.width()
+                }
+                decorator.getCompoundDrawableTop(context, y, m, day, valid, selected)?.let {
+                    drawAt(canvas, it, cellBounds.centerX() - it.bounds.width() / 2, cellBounds.top)
+                    textTop += it.bounds.height()
+                }
+                decorator.getCompoundDrawableRight(context, y, m, day, valid, selected)?.let {
+                    drawAt(
+                        canvas, it,
+                        cellBounds.right - it.bounds.width(),
+                        cellBounds.centerY() - it.bounds.height() / 2
+                    )
+                    textRight -= it.bounds.width()
+                }
+                decorator.getCompoundDrawableBottom(context, y, m, day, valid, selected)?.let {
+                    drawAt(
+                        canvas, it,
+                        cellBounds.centerX() - it.bounds.width() / 2,
+                        cellBounds.bottom - it.bounds.height()
+                    )
+                    textBottom -= it.bounds.height()
+                }
+            } else {
+                style.drawItemBackground(canvas, cellBounds, state)
+                paint.color = style.getTextColor(state)
+            }
+
+            canvas.drawText(
+                labels.dayNumber(day),
+                (textLeft + textRight) / 2f - widths[day] / 2,
+                (textTop + textBottom) / 2f + baselineOffset,
+                paint
+            )
+        }
+    }
+
+    /**
+     * Fills the selected ranges behind the days, as [MaterialCalendarGridView] does.
+     */
+    private fun drawRangeFill(canvas: Canvas, adapter: MonthAdapter, calendarStyle: CalendarStyle) {
+        val month = adapter.month
+        val columns = month.daysInWeek
+        val firstOfMonth = month.getDay(1)
+        val lastOfMonth = month.getDay(month.daysInMonth)
+        val rtl = isRtl()
+        val leadingEdge = if (rtl) width else 0
+        val trailingEdge = if (rtl) 0 else width
+        // Towards the leading edge of the row
+        val back = if (rtl) horizontalSpacing else -horizontalSpacing
+
+        for (range in adapter.selection.selectedRanges) {
+            val start = range?.first ?: continue
+            val end = range?.second ?: continue
+            if (start > lastOfMonth || end < firstOfMonth) continue
+
+            val startPosition: Int
+            val rangeStart: Int
+            if (start < firstOfMonth) {
+                startPosition = adapter.firstPositionInMonth()
+                getCellBounds(startPosition, columns, cellBounds)
+                rangeStart = if (adapter.isFirstInRow(startPosition)) {
+                    leadingEdge
+                } else {
+                    (if (rtl) cellBounds.right else cellBounds.left) + back
+                }
+            } else {
+                startPosition = adapter.dayToPosition(month.getDayOfMonth(start))
+                getCellBounds(startPosition, columns, cellBounds)
+                rangeStart = cellBounds.centerX()
+            }
+
+            val endPosition: Int
+            val rangeEnd: Int
+            if (end > lastOfMonth) {
+                endPosition = adapter.lastPositionInMonth()
+                getCellBounds(endPosition, columns, cellBounds)
+                rangeEnd = if (adapter.isLastInRow(endPosition)) {
+                    trailingEdge
+                } else {
+                    if (rtl) cellBounds.left else cellBounds.right
+                }
+            } else {
+                endPosition = adapter.dayToPosition(month.getDayOfMonth(end))
+                getCellBounds(endPosition, columns, cellBounds)
+                rangeEnd = cellBounds.centerX()
+            }
+
+            val firstRow = startPosition / columns
+            val lastRow = endPosition / columns
+            for (row in firstRow..lastRow) {
+                getCellBounds(row * columns, columns, cellBounds)
+                val from = if (row == firstRow) rangeStart else leadingEdge
+                val to = if (row == lastRow) rangeEnd else trailingEdge
+                canvas.drawRect(
+                    min(from, to).toFloat(),
+                    (cellBounds.top + calendarStyle.day.topInset).toFloat(),
+                    max(from, to).toFloat(),
+                    (cellBounds.bottom - calendarStyle.day.bottomInset).toFloat(),
+                    calendarStyle.rangeFill
+                )
+            }
+        }
+    }
+
+    private fun drawAt(canvas: Canvas, drawable: Drawable, left: Int, top: Int) {
+        val bounds = drawable.bounds
+        val save = canvas.save()
+        canvas.translate((left - bounds.left).toFloat(), (top - bounds.top).toFloat())
+        drawable.draw(canvas)
+        canvas.restoreToCount(save)
+    }
+
+    private fun stateIndex(day: Int, valid: Boolean, selected: Boolean): Int {
+        var index = 0
+        if (valid) index = index or STATE_ENABLED
+        if (selected) index = index or STATE_SELECTED
+        if (day == pressedDay) index = index or STATE_PRESSED
+        if (day == accessibilityHelper.keyboardFocusedVirtualViewId) index = index or STATE_FOCUSED
+        return index
+    }
+
+    /**
+     * Sets [out] to the bounds of the cell at grid [position].
+     */
+    private fun getCellBounds(position: Int, columns: Int, out: Rect) {
+        val column = position % columns
+        val row = position / columns
+        val cellWidth = getCellWidth(columns)
+        val left = if (isRtl()) {
+            width - paddingRight - (column + 1) * cellWidth - column * horizontalSpacing
+        } else {
+            paddingLeft + column * (cellWidth + horizontalSpacing)
+        }
+        val top = paddingTop + row * (dayHeight + verticalSpacing)
+        out.set(left, top, left + cellWidth, top + dayHeight)
+    }
+
+    private fun getCellWidth(columns: Int): Int {
+        return (width - paddingLeft - paddingRight - (columns - 1) * horizontalSpacing) / columns
+    }
+
+    /**
+     * The day of the month at ([x], [y]), or [NO_DAY]. Spacing belongs to the cell before it.
+     */
+    private fun getDayAt(x: Float, y: Float): Int {
+        val adapter = adapter ?: return NO_DAY
+        val columns = adapter.month.daysInWeek
+        val fromLeadingEdge = if (isRtl()) width - paddingRight - x else x - paddingLeft
+        val fromTop = y - paddingTop
+        if (fromLeadingEdge < 0 || fromTop < 0) {
+            return NO_DAY
+        }
+        val column = (fromLeadingEdge / (getCellWidth(columns) + horizontalSpacing)).toInt()
+        val row = (fromTop / (dayHeight + verticalSpacing)).toInt()
+        if (column >= columns || row >= MonthAdapter.MAXIMUM_WEEKS) {
+            return NO_DAY
+        }
+        val position = row * columns + column
+        return if (adapter.withinMonth(position)) adapter.positionToDay(position) else NO_DAY
+    }
+
+    private fun isRtl(): Boolean {
+        return ViewCompat.getLayoutDirection(this) == ViewCompat.LAYOUT_DIRECTION_RTL
+    }
+
+    private fun performDayClick(day: Int): Boolean {
+        val adapter = adapter ?: return false
+        val listener = onDayClickListener ?: return false
+        if (day < 1 || day > adapter.month.daysInMonth) {
+            return false
+        }
+        playSoundEffect(SoundEffectConstants.CLICK)
+        listener.onDayClick(adapter.month.getDay(day))
+        accessibilityHelper.invalidateVirtualView(day)
+        accessibilityHelper.sendEventForVirtualView(day, AccessibilityEvent.TYPE_VIEW_CLICKED)
+        return true
+    }
+
+    // Clicks reach accessibility services through the virtual day views
+    @SuppressLint("ClickableViewAccessibility")
+    override fun onTouchEvent(event: MotionEvent): Boolean {
+        when (event.actionMasked) {
+            MotionEvent.ACTION_DOWN -> {
+                pressedDay = getDayAt(event.x, event.y)
+                if (pressedDay == NO_DAY) {
+                    return false
+                }
+                invalidate()
+            }
+            MotionEvent.ACTION_UP -> {
+                val day = pressedDay
+                pressedDay = NO_DAY
+                invalidate()
+                if (day != NO_DAY && day == getDayAt(event.x, event.y)) {
+                    performDayClick(day)
+                }
+            }
+            MotionEvent.ACTION_CANCEL -> {
+                pressedDay = NO_DAY
+                invalidate()
+            }
+        }
+        return true
+    }
+
+    override fun dispatchHoverEvent(event: MotionEvent): Boolean {
+        return accessibilityHelper.dispatchHoverEvent(event) || super.dispatchHoverEvent(event)
+    }
+
+    override fun dispatchKeyEvent(event: KeyEvent): Boolean {
+        return accessibilityHelper.dispatchKeyEvent(event) || super.dispatchKeyEvent(event)
+    }
+
+    override fun onFocusChanged(gainFocus: Boolean, direction: Int, previouslyFocusedRect: Rect?) {
+        super.onFocusChanged(gainFocus, direction, previouslyFocusedRect)
+        accessibilityHelper.onFocusChanged(gainFocus, direction, previouslyFocusedRect)
+    }
+
+    /**
+     * Exposes each day of the month as a virtual view whose id is its day number.
+     */
+    private inner class DayAccessibilityHelper : ExploreByTouchHelper(this@MonthView) {
+        private val virtualBounds = Rect()
+
+        override fun getVirtualViewAt(x: Float, y: Float): Int {
+            val day = getDayAt(x, y)
+            return if (day == NO_DAY) ExploreByTouchHelper.INVALID_ID else day
+        }
+
+        override fun getVisibleVirtualViews(virtualViewIds: MutableList<Int>) {
+            val adapter = adapter ?: return
+            for (day in 1..adapter.month.daysInMonth) {
+                virtualViewIds.add(day)
+            }
+        }
+
+        override fun onPopulateNodeForVirtualView(
+            virtualViewId: Int,
+            node: AccessibilityNodeInfoCompat
+        ) {
+            val adapter = adapter
+            if (adapter == null || virtualViewId < 1 || virtualViewId > adapter.month.daysInMonth) {
+                // A stale id after the month changed; the helper still needs text and bounds
+                node.contentDescription = ""
+                node.setBoundsInParent(EMPTY_BOUNDS)
+                return
+            }
+            val month = adapter.month
+            val cells = adapter.getCells(context)
+            val valid = cells.isValid(virtualViewId)
+            val selected = cells.isSelected(virtualViewId)
+            node.contentDescription =
+                adapter.getDayContentDescription(context, cells, virtualViewId) ?: ""
+            getCellBounds(adapter.dayToPosition(virtualViewId), month.daysInWeek, virtualBounds)
+            node.setBoundsInParent(virtualBounds)
+            node.isEnabled = valid
+            node.isSelected = selected
+            if (valid) {
+                node.isClickable = true
+                node.addAction(AccessibilityNodeInfoCompat.ACTION_CLICK)
+            }
+        }
+
+        override fun onPerformActionForVirtualView(
+            virtualViewId: Int,
+            action: Int,
+            arguments: Bundle?
+        ): Boolean {
+            return action == AccessibilityNodeInfoCompat.ACTION_CLICK && performDayClick(virtualViewId)
+        }
+
+        override fun onVirtualViewKeyboardFocusChanged(virtualViewId: Int, hasFocus: Boolean) {
+            invalidate()
+        }
+    }
+
+    private companion object {
+        const val NO_DAY = -1
+        const val MAX_DAY = 31
+
+        const val STATE_ENABLED = 1
+        const val STATE_SELECTED = 2
+        const val STATE_PRESSED = 4
+        const val STATE_FOCUSED = 8
+
+        val EMPTY_BOUNDS = Rect()
+
+        // Drawable states by combination of the STATE_ flags
+        val STATES: Array<IntArray> = Array(16) { flags ->
+            val state = ArrayList<Int>(4)
+            if (flags and STATE_ENABLED != 0) state.add(android.R.attr.state_enabled)
+            if (flags and STATE_SELECTED != 0) state.add(android.R.attr.state_selected)
+            if (flags and STATE_PRESSED != 0) state.add(android.R.attr.state_pressed)
+            if (flags and STATE_FOCUSED != 0) state.add(android.R.attr.state_focused)
+            state.toIntArray()
+        }
+    }
+}
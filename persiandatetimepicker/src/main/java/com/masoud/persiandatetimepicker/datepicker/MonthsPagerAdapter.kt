@@ -1,6 +1,8 @@
 package com.masoud.persiandatetimepicker.datepicker
 
 import android.content.Context
+import android.util.SparseArray
+import android.util.SparseBooleanArray
 import android.view.LayoutInflater
 import android.view.View
 import android.view.ViewGroup
@@ -8,9 +10,13 @@ import android.widget.AdapterView
 import android.widget.AdapterView.OnItemClickListener
 import android.widget.LinearLayout
 import android.widget.TextView
+import androidx.core.content.ContextCompat
+import androidx.core.util.Pair
 import androidx.core.view.ViewCompat
 import androidx.recyclerview.widget.RecyclerView
 import com.masoud.persiandatetimepicker.R
+import java.util.BitSet
+import kotlin.math.abs
 
 /**
  * Manages each month page in the MaterialCalendar.
@@ -20,7 +26,16 @@ internal class MonthsPagerAdapter(
     dateSelector: DateSelector<*>,
     cc: CalendarConstraints,
     decorator: DayViewDecorator?,
-    listener: MaterialCalendar.OnDayClickListener
+    listener: MaterialCalendar.OnDayClickListener,
+    /**
+     * Shows each month as a single [MonthView] instead of a [MaterialCalendarGridView].
+     */
+    private val drawnMonths: Boolean = false,
+    /**
+     * Months on each side of a bound page whose days are built and whose pages are created
+     * ahead, see [warmNeighbours].
+     */
+    private val prefetchMonths: Int = MaterialDatePicker.DEFAULT_PREFETCH_MONTHS
 ) : RecyclerView.Adapter<MonthsPagerAdapter.ViewHolder?>() {
     private val calendarConstraints: CalendarConstraints
     private val dateSelector: DateSelector<*>
@@ -28,6 +43,21 @@ internal class MonthsPagerAdapter(
     private val onDayClickListener: MaterialCalendar.OnDayClickListener
     private val itemHeight: Int
 
+    // Shared by all months, so their items share backgrounds; built from the themed context
+    private var calendarStyle: CalendarStyle? = null
+
+    // Copied when a tap changes it, so the months check their models by its version
+    private var selection: SelectionSnapshot
+
+    // Models of the months next to the bound ones, by position, drafted on MonthCells.EXECUTOR
+    private val prebuiltCells = SparseArray<MonthCells>()
+    private val pendingCells = SparseBooleanArray()
+
+    /**
+     * Told whether each newly bound month had its days built ahead.
+     */
+    var onMonthBindListener: MaterialPickerOnMonthBindListener? = null
+
     init {
         val first = cc.start
         val last = cc.end
@@ -41,6 +71,7 @@ internal class MonthsPagerAdapter(
 
         this.calendarConstraints = cc
         this.dateSelector = dateSelector
+        this.selection = SelectionSnapshot.of(dateSelector)
         this.dayViewDecorator = decorator
         this.onDayClickListener = listener
         setHasStableIds(true)
@@ -49,11 +80,13 @@ internal class MonthsPagerAdapter(
     internal class ViewHolder(container: LinearLayout, showLabel: Boolean) :
         RecyclerView.ViewHolder(container) {
         val monthTitle: TextView = container.findViewById<TextView>(R.id.month_title)
-        val monthGrid: MaterialCalendarGridView
+
+        // One of the two, depending on the layout
+        val monthGrid: MaterialCalendarGridView? = container.findViewById(R.id.month_grid)
+        val monthView: MonthView? = container.findViewById(R.id.month_view)
 
         init {
             ViewCompat.setAccessibilityHeading(monthTitle, true)
-            monthGrid = container.findViewById<MaterialCalendarGridView>(R.id.month_grid)
             if (!showLabel) {
                 monthTitle.visibility = View.GONE
             }
@@ -61,8 +94,12 @@ internal class MonthsPagerAdapter(
     }
 
     override fun onCreateViewHolder(parent: ViewGroup, viewType: Int): ViewHolder {
+        val layout = if (drawnMonths) R.layout.calendar_month_view_labeled else R.layout.calendar_month_labeled
         val container = LayoutInflater.from(parent.context)
-            .inflate(R.layout.calendar_month_labeled, parent, false) as LinearLayout
+            .inflate(layout, parent, false) as LinearLayout
+        if (calendarStyle == null) {
+            calendarStyle = CalendarStyle(parent.context)
+        }
 
         if (MaterialDatePicker.isFullscreen(parent.context)) {
             val lp = RecyclerView.LayoutParams(
@@ -77,18 +114,24 @@ internal class MonthsPagerAdapter(
 
     override fun onBindViewHolder(holder: ViewHolder, position: Int) {
         val month = calendarConstraints.start.monthsLater(position)
-        holder.monthTitle.text = month.getLongName()
-        val gridView = holder.monthGrid.findViewById<MaterialCalendarGridView>(R.id.month_grid)
+        holder.monthTitle.text = calendarConstraints.labels.monthYear(month)
+        val monthView = holder.monthView
+        if (monthView != null) {
+            bindMonthView(monthView, month, position)
+            prebuildNeighbours(monthView.context, position)
+            return
+        }
+        val gridView = holder.monthGrid!!
 
         @Suppress("SENSELESS_COMPARISON")
         if (gridView.adapter != null && month == gridView.adapter.month) {
             gridView.invalidate()
-            gridView.adapter.updateSelectedStates(gridView)
+            gridView.adapter.updateSelectedStates(gridView, selection)
         } else {
-            val adapter = MonthAdapter(month, dateSelector, calendarConstraints, dayViewDecorator)
             gridView.numColumns = month.daysInWeek
-            gridView.setAdapter(adapter)
+            gridView.setAdapter(newMonthAdapter(month, position))
         }
+        prebuildNeighbours(gridView.context, position)
 
         gridView.onItemClickListener =
             OnItemClickListener { parent: AdapterView<*>?, view: View?, pos: Int, id: Long ->
@@ -100,6 +143,106 @@ internal class MonthsPagerAdapter(
             }
     }
 
+    override fun onBindViewHolder(holder: ViewHolder, position: Int, payloads: MutableList<Any>) {
+        if (payloads.isEmpty() || payloads.any { it !== PAYLOAD_SELECTION }) {
+            onBindViewHolder(holder, position)
+            return
+        }
+        // Same month, new selection: restyle only the days that were or are now selected
+        val monthView = holder.monthView
+        if (monthView != null) {
+            monthView.updateSelectedStates(selection)
+            return
+        }
+        val gridView = holder.monthGrid!!
+        gridView.invalidate()
+        gridView.adapter.updateSelectedStates(gridView, selection)
+    }
+
+    private fun bindMonthView(monthView: MonthView, month: Month, position: Int) {
+        val current = monthView.adapter
+        if (current != null && month == current.month) {
+            monthView.updateSelectedStates(selection)
+        } else {
+            monthView.adapter = newMonthAdapter(month, position)
+        }
+        monthView.onDayClickListener = onDayClickListener
+    }
+
+    private fun newMonthAdapter(month: Month, position: Int): MonthAdapter {
+        val adapter = MonthAdapter(month, dateSelector, calendarConstraints, dayViewDecorator, selection)
+        adapter.calendarStyle = calendarStyle
+        adapter.cells = takePrebuiltCells(position)
+        onMonthBindListener?.onMonthBind(adapter.cells != null)
+        return adapter
+    }
+
+    private fun takePrebuiltCells(position: Int): MonthCells? {
+        val cells = prebuiltCells.get(position)
+        prebuiltCells.remove(position)
+        return if (cells != null && cells.isCurrent(selection)) cells else null
+    }
+
+    /**
+     * Builds the cell models of the months next to [position], their days on
+     * [MonthCells.EXECUTOR], so the page scrolled to next binds without computing them on the
+     * main thread.
+     */
+    private fun prebuildNeighbours(context: Context, position: Int) {
+        for (neighbour in position - prefetchMonths..position + prefetchMonths) {
+            if (neighbour != position && neighbour in 0 until itemCount) {
+                prebuildCells(context, neighbour)
+            }
+        }
+        // Only the models around the bound pages are worth keeping
+        for (i in prebuiltCells.size() - 1 downTo 0) {
+            if (abs(prebuiltCells.keyAt(i) - position) > prefetchMonths + KEPT_PREBUILT_MARGIN) {
+                prebuiltCells.removeAt(i)
+            }
+        }
+    }
+
+    private fun prebuildCells(context: Context, position: Int) {
+        val prebuilt = prebuiltCells.get(position)
+        if (pendingCells.get(position) || (prebuilt != null && prebuilt.isCurrent(selection))) {
+            return
+        }
+        pendingCells.put(position, true)
+        val month = getPageMonth(position)
+        val draftSelection = selection
+        val mainExecutor = ContextCompat.getMainExecutor(context)
+        MonthCells.EXECUTOR.execute {
+            val draft = MonthCells.draft(month, draftSelection)
+            // The validator and the decorator are user code, so they run back on the main thread
+            mainExecutor.execute {
+                pendingCells.delete(position)
+                if (draft.isCurrent(selection)) {
+                    prebuiltCells.put(
+                        position, MonthCells.build(context, draft, calendarConstraints, dayViewDecorator)
+                    )
+                }
+            }
+        }
+    }
+
+    /**
+     * Builds the days of the months around [position] and puts pages for them in the pool of
+     * [recyclerView], so the first swipe to them only binds. Meant for when the main thread is
+     * idle, before any scroll lets the prefetch of [SmoothCalendarLayoutManager] run.
+     */
+    fun warmNeighbours(recyclerView: RecyclerView, position: Int) {
+        if (prefetchMonths <= 0) {
+            return
+        }
+        prebuildNeighbours(recyclerView.context, position)
+        // One page per month ahead; a swipe goes only one way
+        val pool = recyclerView.recycledViewPool
+        pool.setMaxRecycledViews(PAGE_VIEW_TYPE, maxOf(prefetchMonths, DEFAULT_MAX_RECYCLED_PAGES))
+        while (pool.getRecycledViewCount(PAGE_VIEW_TYPE) < prefetchMonths) {
+            pool.putRecycledView(createViewHolder(recyclerView, PAGE_VIEW_TYPE))
+        }
+    }
+
     override fun getItemId(position: Int): Long {
         return calendarConstraints.start.monthsLater(position).stableId
     }
@@ -109,7 +252,7 @@ internal class MonthsPagerAdapter(
     }
 
     fun getPageTitle(position: Int): CharSequence {
-        return getPageMonth(position).getLongName()
+        return calendarConstraints.labels.monthYear(getPageMonth(position))
     }
 
     fun getPageMonth(position: Int): Month {
@@ -120,4 +263,55 @@ internal class MonthsPagerAdapter(
         return calendarConstraints.start.monthsUntil(month)
     }
 
+    /**
+     * Rebinds, with a selection payload, only the months holding a day of [previousDays] or
+     * [previousRanges] or of the current selection, or lying inside one of those ranges.
+     */
+    fun notifySelectionChanged(
+        previousDays: Collection<Long?>,
+        previousRanges: Collection<Pair<Long?, Long?>?>
+    ) {
+        selection = selection.next(dateSelector)
+        val positions = BitSet(itemCount)
+        markSelection(positions, previousDays, previousRanges)
+        markSelection(positions, selection.selectedDays, selection.selectedRanges)
+
+        var start = positions.nextSetBit(0)
+        while (start >= 0) {
+            val end = positions.nextClearBit(start)
+            notifyItemRangeChanged(start, end - start, PAYLOAD_SELECTION)
+            start = positions.nextSetBit(end)
+        }
+    }
+
+    private fun markSelection(
+        positions: BitSet,
+        days: Collection<Long?>,
+        ranges: Collection<Pair<Long?, Long?>?>
+    ) {
+        for (day in days) {
+            if (day != null) positions.set(clampedPosition(day))
+        }
+        for (range in ranges) {
+            val first = range?.first ?: continue
+            val second = range.second ?: continue
+            // The fill of a range is drawn across every month it spans
+            positions.set(clampedPosition(first), clampedPosition(second) + 1)
+        }
+    }
+
+    private fun clampedPosition(date: Long): Int {
+        return getPosition(Month.create(date)).coerceIn(0, itemCount - 1)
+    }
+
+    companion object {
+        private val PAYLOAD_SELECTION = Any()
+
+        // Prebuilt months are kept this many months beyond the prefetch window
+        private const val KEPT_PREBUILT_MARGIN = 2
+
+        // The only view type, and the pool size RecyclerView gives a type by default
+        private const val PAGE_VIEW_TYPE = 0
+        private const val DEFAULT_MAX_RECYCLED_PAGES = 5
+    }
 }
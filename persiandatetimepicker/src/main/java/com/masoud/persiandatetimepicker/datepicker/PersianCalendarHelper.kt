@@ -1,44 +1,41 @@
 package com.masoud.persiandatetimepicker.datepicker
 
-import saman.zamani.persiandate.PersianDate
-
+import com.masoud.persiandatetimepicker.utils.JalaliCalendar
+import com.masoud.persiandatetimepicker.utils.JalaliDate
 
 /**
- * A helper class to replace old ICU Calendar usage with Samanzamani's PersianDate library.
- * Keeps the logic consistent with the original usage for YEAR, MONTH, DAY_OF_MONTH, etc.
+ * A Calendar-like view over the Jalali calendar kernel, kept for code that still works with
+ * YEAR, MONTH, DAY_OF_MONTH, etc. Days are UTC days, like every day of the picker.
  */
 class PersianCalendarHelper {
-    private var persianDate: PersianDate
+    private var date: JalaliDate
+    private var millisOfDay: Long
 
-    constructor() {
-        this.persianDate = PersianDate()
-    }
+    constructor() : this(System.currentTimeMillis())
 
     constructor(epochMs: Long) {
-        this.persianDate = PersianDate(epochMs)
+        this.date = JalaliDate.ofEpochMillis(epochMs)
+        this.millisOfDay = epochMs - date.toEpochMillis()
     }
 
     var timeInMillis: Long
         /**
          * Returns the stored time in milliseconds from epoch.
          */
-        get() = persianDate.time
+        get() = date.toEpochMillis() + millisOfDay
         /**
          * Sets time in milliseconds from epoch (Unix time).
          */
         set(epochMs) {
-            persianDate = PersianDate(epochMs)
+            date = JalaliDate.ofEpochMillis(epochMs)
+            millisOfDay = epochMs - date.toEpochMillis()
         }
 
     /**
-     * Clear or reset to a default baseline date.
-     * For example, we set to 1970-01-01 (1348-10-11 approx).
+     * Clear or reset to a default baseline date: 1970-01-01 (1348-10-11) at midnight.
      */
     fun clear() {
-        this.persianDate = PersianDate()
-        this.persianDate.setShYear(1348)
-        this.persianDate.setShMonth(10)
-        this.persianDate.setShDay(11)
+        timeInMillis = 0L
     }
 
     /**
@@ -46,11 +43,11 @@ class PersianCalendarHelper {
      */
     fun set(field: Int, value: Int) {
         when (field) {
-            YEAR -> persianDate.setShYear(value)
-            MONTH ->                 // old code is 0..11, library uses 1..12
-                persianDate.setShMonth(value + 1)
+            YEAR -> setDate(value, date.month, date.day)
+            MONTH ->                 // old code is 0..11, the kernel uses 1..12
+                setDate(date.year, value + 1, date.day)
 
-            DAY_OF_MONTH -> persianDate.setShDay(value)
+            DAY_OF_MONTH -> date = date.withDay(value)
             else -> {}
         }
     }
@@ -60,24 +57,8 @@ class PersianCalendarHelper {
      */
     fun add(field: Int, amount: Int) {
         when (field) {
-            MONTH -> {
-                val currentMonth = persianDate.shMonth
-                val currentYear = persianDate.shYear
-                var newMonth = currentMonth + amount
-                var newYear = currentYear
-                while (newMonth < 1) {
-                    newYear--
-                    newMonth += 12
-                }
-                while (newMonth > 12) {
-                    newYear++
-                    newMonth -= 12
-                }
-                persianDate.setShYear(newYear)
-                persianDate.setShMonth(newMonth)
-            }
-
-            YEAR -> persianDate.setShYear(persianDate.shYear + amount)
+            MONTH -> date = date.plusMonths(amount)
+            YEAR -> date = date.plusMonths(amount * 12)
             else -> {}
         }
     }
@@ -87,18 +68,15 @@ class PersianCalendarHelper {
      */
     fun get(field: Int): Int {
         return when (field) {
-            YEAR -> persianDate.shYear
+            YEAR -> date.year
             MONTH ->  // Convert 1..12 to 0..11
-                persianDate.shMonth - 1
+                date.month - 1
 
-            DAY_OF_MONTH -> persianDate.shDay
-            DAY_OF_WEEK ->  // Samanzamani: dayOfWeek => 1=Saturday ... 7=Friday
-                persianDate.dayOfWeek()
+            DAY_OF_MONTH -> date.day
+            DAY_OF_WEEK ->  // 0=Saturday ... 6=Friday
+                date.dayOfWeek
 
-            WEEK_OF_MONTH -> {
-                val day = persianDate.shDay
-                ((day - 1) / 7) + 1
-            }
+            WEEK_OF_MONTH -> ((date.day - 1) / 7) + 1
 
             else -> 0
         }
@@ -119,15 +97,16 @@ class PersianCalendarHelper {
      */
     fun getActualMaximum(field: Int): Int {
         if (field == DAY_OF_MONTH) {
-            val temp = PersianDate()
-            temp.setShYear(persianDate.shYear)
-            temp.setShMonth(persianDate.shMonth)
-            temp.setShDay(1)
-            return temp.monthLength
+            return date.lengthOfMonth
         }
         return 0
     }
 
+    private fun setDate(year: Int, month: Int, day: Int) {
+        // Keep the day inside the target month, e.g. 30 Esfand of a common year becomes 29
+        date = JalaliDate.of(year, month, minOf(day, JalaliCalendar.monthLength(year, month)))
+    }
+
     companion object {
         // Constants matching typical Calendar fields
         const val YEAR: Int = 1
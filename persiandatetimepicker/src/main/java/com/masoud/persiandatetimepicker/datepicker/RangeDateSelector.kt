@@ -14,7 +14,7 @@ import com.google.android.material.resources.MaterialAttributes
 import com.google.android.material.textfield.TextInputLayout
 import com.masoud.persiandatetimepicker.R
 import com.masoud.persiandatetimepicker.datepicker.UtcDates.defaultTextInputHint
-import saman.zamani.persiandate.PersianDate
+import com.masoud.persiandatetimepicker.utils.JalaliDate
 import java.text.SimpleDateFormat
 import kotlin.math.min
 
@@ -251,17 +251,12 @@ class RangeDateSelector : DateSelector<Pair<Long?, Long?>?> {
     }
 
     private fun jalaliFormatSlash(millis: Long): String {
-        val pd = PersianDate(millis)
-        return pd.shYear.toString() + "/" + pad2(pd.shMonth) + "/" + pad2(pd.shDay)
+        return JalaliDate.ofEpochMillis(millis).toString()
     }
 
     private fun jalaliFormatLongMonth(millis: Long): String {
-        val pd = PersianDate(millis)
-        return pd.shDay.toString() + " " + pd.monthName() + " " + pd.shYear
-    }
-
-    private fun pad2(v: Int): String {
-        return if (v < 10) ("0$v") else v.toString()
+        val date = JalaliDate.ofEpochMillis(millis)
+        return date.day.toString() + " " + date.monthName + " " + date.year
     }
 
     override fun describeContents(): Int {
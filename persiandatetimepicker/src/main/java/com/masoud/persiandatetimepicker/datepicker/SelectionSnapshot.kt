@@ -0,0 +1,47 @@
+package com.masoud.persiandatetimepicker.datepicker
+
+import androidx.core.util.Pair
+import com.masoud.persiandatetimepicker.datepicker.UtcDates.canonicalYearMonthDay
+
+/**
+ * A copy of the selection of a [DateSelector], taken when the calendar is told it changed, and
+ * numbered by a version that moves on with each copy. A [MonthCells] records the version it was
+ * built for, so drawing and accessibility check it with one comparison instead of copying the
+ * selection again.
+ *
+ * It is immutable, so it can be handed to [MonthCells.EXECUTOR].
+ */
+internal class SelectionSnapshot private constructor(
+    val version: Int,
+    val selectedDays: List<Long?>,
+    val selectedRanges: List<Pair<Long?, Long?>?>
+) {
+    /**
+     * The selected days as UTC midnights, the form of the days of a [Month].
+     */
+    val canonicalDays: LongArray = selectedDays.filterNotNull()
+        .map { canonicalYearMonthDay(it) }
+        .toLongArray()
+
+    /**
+     * Copies the current selection of [dateSelector] as the version after this one.
+     */
+    fun next(dateSelector: DateSelector<*>): SelectionSnapshot {
+        return of(dateSelector, version + 1)
+    }
+
+    companion object {
+        @JvmStatic
+        fun of(dateSelector: DateSelector<*>): SelectionSnapshot {
+            return of(dateSelector, 0)
+        }
+
+        private fun of(dateSelector: DateSelector<*>, version: Int): SelectionSnapshot {
+            return SelectionSnapshot(
+                version,
+                ArrayList<Long?>(dateSelector.selectedDays),
+                ArrayList<Pair<Long?, Long?>?>(dateSelector.selectedRanges)
+            )
+        }
+    }
+}
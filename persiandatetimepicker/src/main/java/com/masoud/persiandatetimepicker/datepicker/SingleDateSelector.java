@@ -23,7 +23,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 import com.masoud.persiandatetimepicker.R;
-import saman.zamani.persiandate.PersianDate;
+import com.masoud.persiandatetimepicker.utils.JalaliDates;
 
 /**
  * A DateSelector that uses one Long for a single date selection (all Jalali).
@@ -191,22 +191,18 @@ public class SingleDateSelector implements DateSelector<Long> {
   }
 
   private String jalaliFormatSlash(long millis) {
-    PersianDate pd = new PersianDate(millis);
-    return pd.getShYear() + "/" + pad2(pd.getShMonth()) + "/" + pad2(pd.getShDay());
+    return JalaliDates.toString(JalaliDates.ofEpochMillis(millis));
   }
 
   private String jalaliFormatLongMonth(long millis) {
     if (jalaliDateCache.containsKey(millis))
       return jalaliDateCache.get(millis);
 
-    PersianDate pd = new PersianDate(millis);
-    String formatted = pd.getShDay() + " " + pd.monthName() + " " + pd.getShYear();
+    int date = JalaliDates.ofEpochMillis(millis);
+    String formatted =
+        JalaliDates.day(date) + " " + JalaliDates.monthName(date) + " " + JalaliDates.year(date);
     jalaliDateCache.put(millis, formatted);
 
     return formatted;
   }
-
-  private String pad2(int v) {
-    return (v < 10) ? "0" + v : String.valueOf(v);
-  }
 }
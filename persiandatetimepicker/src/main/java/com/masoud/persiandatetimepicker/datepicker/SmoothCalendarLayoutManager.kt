@@ -2,19 +2,57 @@ package com.masoud.persiandatetimepicker.datepicker
 
 import android.content.Context
 import android.util.DisplayMetrics
+import androidx.core.view.ViewCompat
 import androidx.recyclerview.widget.LinearLayoutManager
 import androidx.recyclerview.widget.LinearSmoothScroller
 import androidx.recyclerview.widget.RecyclerView
 
 /**
  * Layout manager for [MaterialCalendar] that slows the scroll down to appear smoother for
- * months.
+ * months, and lets the prefetch reach [prefetchMonths] months ahead of the scroll.
  */
 internal open class SmoothCalendarLayoutManager(
     context: Context?,
     orientation: Int,
     reverseLayout: Boolean
 ) : LinearLayoutManager(context, orientation, reverseLayout) {
+    /**
+     * How many months in the direction of a scroll are created and bound between frames; 0
+     * turns prefetching off.
+     */
+    var prefetchMonths: Int = 1
+        set(value) {
+            field = value
+            isItemPrefetchEnabled = value > 0
+        }
+
+    override fun collectAdjacentPrefetchPositions(
+        dx: Int,
+        dy: Int,
+        state: RecyclerView.State,
+        layoutPrefetchRegistry: LayoutPrefetchRegistry
+    ) {
+        // The adjacent month
+        super.collectAdjacentPrefetchPositions(dx, dy, state, layoutPrefetchRegistry)
+        val delta = if (orientation == HORIZONTAL) dx else dy
+        if (prefetchMonths <= 1 || delta == 0 || childCount == 0) {
+            return
+        }
+        // As LinearLayoutManager finds the child closest to the side being scrolled to
+        val rtl = orientation == HORIZONTAL && layoutDirection == ViewCompat.LAYOUT_DIRECTION_RTL
+        val reverse = reverseLayout != rtl
+        val towardsEnd = delta > 0
+        val edge = getChildAt(if (towardsEnd == reverse) 0 else childCount - 1) ?: return
+        val step = if (towardsEnd == reverse) -1 else 1
+        val pageSize = if (orientation == HORIZONTAL) width else height
+        for (i in 2..prefetchMonths) {
+            val position = getPosition(edge) + i * step
+            if (position < 0 || position >= state.itemCount) {
+                break
+            }
+            layoutPrefetchRegistry.addPosition(position, (i - 1) * pageSize)
+        }
+    }
     override fun smoothScrollToPosition(
         recyclerView: RecyclerView, state: RecyclerView.State?, position: Int
     ) {
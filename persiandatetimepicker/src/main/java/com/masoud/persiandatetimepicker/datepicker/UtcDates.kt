@@ -1,7 +1,7 @@
 package com.masoud.persiandatetimepicker.datepicker
 
 import com.masoud.persiandatetimepicker.datepicker.TimeSource.Companion.system
-import com.masoud.persiandatetimepicker.datepicker.UtcDates.utcCalendar
+import com.masoud.persiandatetimepicker.utils.JalaliCalendar
 import java.util.Locale
 import java.util.TimeZone
 import java.util.concurrent.atomic.AtomicReference
@@ -25,50 +25,32 @@ internal object UtcDates {
             timeSourceRef.set(timeSource)
         }
 
-    private val timeZone: TimeZone by lazy { TimeZone.getTimeZone(TEHRAN) }
-
-    private val utcCalendarInstance by lazy {
-        PersianCalendarHelper().apply { clear() }
-    }
-
-    fun utcCalendar(): PersianCalendarHelper = utcCalendarInstance
-
-    val todayCanonical: Long by lazy {
-        canonicalYearMonthDay(todayCalendar.timeInMillis)
-    }
-
+    /**
+     * Today's local date as a UTC midnight, the form every day of the picker takes.
+     */
     @JvmStatic
-    val todayCalendar: PersianCalendarHelper
-        get() = PersianCalendarHelper(System.currentTimeMillis())
-
-    @JvmStatic
-    val utcCalendar: PersianCalendarHelper
+    val todayCanonical: Long
         get() {
-            val helper = PersianCalendarHelper()
-            helper.clear()
-            return helper
-        }
-
-    fun getUtcCalendarOf(raw: PersianCalendarHelper?): PersianCalendarHelper {
-        val c = PersianCalendarHelper()
-        if (raw == null) {
-            c.clear()
-        } else {
-            c.timeInMillis = raw.timeInMillis
+            return canonicalYearMonthDay(timeSource!!.now(), TimeZone.getDefault())
         }
-        return c
-    }
 
+    /**
+     * Strips the time of day from [rawDate], leaving the UTC midnight of its day.
+     */
     @JvmStatic
-    fun getDayCopy(raw: PersianCalendarHelper): PersianCalendarHelper {
-        return PersianCalendarHelper(raw.timeInMillis)
+    fun canonicalYearMonthDay(rawDate: Long): Long {
+        return JalaliCalendar.epochDayToEpochMillis(JalaliCalendar.epochMillisToEpochDay(rawDate))
     }
 
+    /**
+     * Returns the UTC midnight of the day [rawDate] falls on in [zone], e.g. [TEHRAN].
+     *
+     * Like [canonicalYearMonthDay] this is a pure function of its arguments and shares no
+     * calendar object, so it is safe to call from any thread.
+     */
     @JvmStatic
-    fun canonicalYearMonthDay(rawDate: Long): Long {
-        val cal = utcCalendar()
-        cal.timeInMillis = rawDate
-        return getDayCopy(cal).timeInMillis
+    fun canonicalYearMonthDay(rawDate: Long, zone: TimeZone): Long {
+        return canonicalYearMonthDay(rawDate + zone.getOffset(rawDate))
     }
 
     @JvmStatic
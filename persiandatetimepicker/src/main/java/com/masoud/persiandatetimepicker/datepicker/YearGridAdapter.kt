@@ -6,6 +6,8 @@ import android.view.ViewGroup
 import android.widget.TextView
 import androidx.recyclerview.widget.RecyclerView
 import com.masoud.persiandatetimepicker.R
+import com.masoud.persiandatetimepicker.utils.JalaliDate
+import java.util.BitSet
 
 internal class YearGridAdapter(private val materialCalendar: MaterialCalendar<*>) :
     RecyclerView.Adapter<YearGridAdapter.ViewHolder?>() {
@@ -21,18 +23,16 @@ internal class YearGridAdapter(private val materialCalendar: MaterialCalendar<*>
 
     override fun onBindViewHolder(holder: ViewHolder, position: Int) {
         val year = getYearForPosition(position)
-        holder.textView.text = year.toString()
+        holder.textView.text = materialCalendar.calendarConstraints!!.labels.year(year)
         holder.textView.contentDescription =
             DateStrings.getYearContentDescription(holder.textView.context, year)
 
         val styles = materialCalendar.calendarStyle
-        val today = UtcDates.todayCalendar
-        val todayYear = today.get(PersianCalendarHelper.YEAR)
+        val todayYear = JalaliDate.ofEpochMillis(UtcDates.todayCanonical).year
         var style = if (todayYear == year) styles.todayYear else styles.year
 
         for (day in materialCalendar.dateSelector!!.selectedDays) {
-            val c = PersianCalendarHelper(day)
-            val selectedYear = c.get(PersianCalendarHelper.YEAR)
+            val selectedYear = JalaliDate.ofEpochMillis(day).year
             if (selectedYear == year) {
                 style = styles.selectedYear
             }
@@ -51,6 +51,26 @@ internal class YearGridAdapter(private val materialCalendar: MaterialCalendar<*>
         return materialCalendar.calendarConstraints!!.yearSpan
     }
 
+    /**
+     * Rebinds only the years of [previousDays] and of the current selection, the only ones whose
+     * style a new selection can change.
+     */
+    fun notifySelectionChanged(previousDays: Collection<Long?>) {
+        val positions = BitSet(itemCount)
+        for (days in arrayOf(previousDays, materialCalendar.dateSelector!!.selectedDays)) {
+            for (day in days) {
+                if (day == null) continue
+                val position = getPositionForYear(JalaliDate.ofEpochMillis(day).year)
+                if (position in 0 until itemCount) positions.set(position)
+            }
+        }
+        var position = positions.nextSetBit(0)
+        while (position >= 0) {
+            notifyItemChanged(position)
+            position = positions.nextSetBit(position + 1)
+        }
+    }
+
     fun getPositionForYear(year: Int): Int {
         return year - materialCalendar.calendarConstraints!!.start.year
     }
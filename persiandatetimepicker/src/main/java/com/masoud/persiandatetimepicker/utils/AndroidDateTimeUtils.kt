@@ -0,0 +1,146 @@
+@file:JvmName("DateTimeUtilsKt")
+@file:JvmMultifileClass
+@file:Suppress("unused", "NULLABILITY_MISMATCH_BASED_ON_JAVA_ANNOTATIONS")
+
+package com.masoud.persiandatetimepicker.utils
+
+import android.annotation.SuppressLint
+import android.text.format.DateFormat
+import android.widget.TextView
+import androidx.fragment.app.FragmentManager
+import com.google.android.material.textfield.TextInputEditText
+import com.masoud.persiandatetimepicker.R
+import com.masoud.persiandatetimepicker.datepicker.MaterialDatePicker
+import com.masoud.persiandatetimepicker.timepicker.TimePickerBuilder
+import com.masoud.persiandatetimepicker.utils.enums.GregorianDatePattern
+import com.masoud.persiandatetimepicker.utils.enums.PersianDatePattern
+import com.masoud.persiandatetimepicker.utils.enums.TimeZones
+import java.util.TimeZone
+
+/**
+ * This function converts time in millisecond to dateTime using provided format
+ *
+ * @param timeInMillis time in millisecond
+ * @return dateTime in provided format
+ */
+fun convertLongToDateTimeUTC(
+    format: GregorianDatePattern = GregorianDatePattern.PATTERN_1,
+    timeInMillis: Long
+): String? {
+    val dateTime = DateFormat.format(format.text, timeInMillis).toString()
+    val date = GregorianFormatters.parseMillis(dateTime, format.text, null) ?: return dateTime
+
+    return GregorianFormatters.format(date, format.text, TimeZones.UTC.timeZone)
+}
+
+/**
+ * Shows a Persian date picker using `MaterialDatePicker`.
+ *
+ * @param textView The [TextView] where the selected date (and optionally time) will be set.
+ * @param title The title to be shown on the date picker dialog.
+ * @param showTimePicker If `true`, a time picker will be shown after the user selects a date.
+ */
+fun FragmentManager.showDateTimePicker(
+    textView: TextView,
+    title: String,
+    showTimePicker: Boolean = false
+) {
+    val jalaliDateTime = textView.text
+
+    val (initialDate, initialTime) =
+        jalaliDateTime?.split(" ")?.let { it.getOrNull(0) to it.getOrNull(1) } ?: (null to null)
+
+    val gregorianDate = initialDate?.let {
+        getGregorianDateTime(
+            it,
+            inputFormat = PersianDatePattern.PATTERN_6,
+            outputFormat = GregorianDatePattern.PATTERN_7
+        )
+    }
+
+    val defaultSelection = gregorianDate?.let {
+        convertDateStringToMillis(it)
+    } ?: MaterialDatePicker.todayInUtcMilliseconds()
+
+    val datePicker =
+        MaterialDatePicker.Builder.datePicker()
+            .setTitleText(title)
+            .setEnableHoliday(true)
+            .setSelection(defaultSelection)
+            .setPositiveButtonText(R.string.persian_picker_confirm)
+            .setNegativeButtonText(R.string.persian_picker_cancel)
+            //.setTheme(R.style.ThemeOverlay_App_DatePicker)
+            .build()
+
+    datePicker.show(this, datePicker.toString())
+
+    datePicker.addOnPositiveButtonClickListener { selectedDate ->
+        // The selection is the UTC midnight of the picked day; seen in a zone west of UTC it
+        // would fall on the day before
+        val persianDate = JalaliFormatter.of(PersianDatePattern.PATTERN_4)
+            .format(selectedDate, TimeZones.UTC.timeZone ?: TimeZone.getDefault())
+        if (showTimePicker) {
+            var hour = 0
+            var minute = 0
+            initialTime?.let {
+                val parts = it.split(":")
+                hour = parts.getOrNull(0)?.toIntOrNull() ?: 0
+                minute = parts.getOrNull(1)?.toIntOrNull() ?: 0
+            }
+
+            textView.showLinearTimePicker(date = persianDate, hour = hour, minute = minute)
+        } else {
+            textView.text = persianDate
+        }
+    }
+}
+
+/**
+ * Shows a linear (scrollable) Persian-style time picker.
+ *
+ * @param title the title of time picker
+ * @param date An optional Persian date string to prefix the selected time.
+
+ * @param hour the default hour of time picker
+ * @param title the default minute of time picker
+ */
+@SuppressLint("DefaultLocale", "SetTextI18n")
+fun TextView.showLinearTimePicker(
+    title: String = this.context.resources.getString(R.string.persian_picker_select_time),
+    date: String? = null,
+    hour: Int = 0,
+    minute: Int = 0
+) {
+    val timePicker = TimePickerBuilder(this.context)
+        .setInitialTime(hour, minute)
+        .setTitle(title)
+        .setOnConfirmListener { selectedTime ->
+            this.text = if (date.isNullOrEmpty()) selectedTime else "$date $selectedTime"
+        }
+    timePicker.show()
+}
+
+
+/**
+ * Sets the filter date-time for a given pair of TextInputEditText fields.
+ *
+ * @param editTextFrom The TextInputEditText for the from date-time.
+ * @param editTextTo The TextInputEditText for the to date-time.
+ * @param enableTime if true dateTime else date.
+ */
+fun setDateTimeFilterDefaults(
+    editTextFrom: TextInputEditText,
+    editTextTo: TextInputEditText,
+    enableTime: Boolean = true
+) {
+    val currentDateTime = getDateNow()
+    val startDate = subtractToMidnight(currentDateTime)
+    val datePattern = if (enableTime) PersianDatePattern.PATTERN_5 else PersianDatePattern.PATTERN_2
+
+    val formatter = JalaliFormatter.of(datePattern)
+    val formattedFromDate = formatter.format(startDate.time)
+    val formattedToDate = formatter.format(currentDateTime.time)
+
+    editTextFrom.setText(formattedFromDate)
+    editTextTo.setText(formattedToDate)
+}
@@ -0,0 +1,65 @@
+package com.masoud.persiandatetimepicker.utils
+
+/**
+ * The per-row [results] of converting a batch of dates, with counts of each outcome, so a bulk
+ * job can report how much of its input was bad and where instead of dropping it silently.
+ */
+class ConversionBatch<out T> private constructor(
+    val results: List<ConversionResult<T>>,
+    val succeeded: Int,
+    val invalidFormat: Int,
+    val outOfRange: Int
+) {
+    val size: Int
+        get() = results.size
+
+    val failed: Int
+        get() = size - succeeded
+
+    /**
+     * The converted value of [row], or `null` when that row failed.
+     */
+    fun valueAt(row: Int): T? {
+        return results[row].getOrNull()
+    }
+
+    /**
+     * Indexes of the rows that failed, in order.
+     */
+    fun failedRows(): IntArray {
+        val rows = IntArray(failed)
+        var count = 0
+        for (row in results.indices) {
+            if (!results[row].isSuccess) rows[count++] = row
+        }
+        return rows
+    }
+
+    override fun toString(): String {
+        return "ConversionBatch(size=$size, succeeded=$succeeded, " +
+            "invalidFormat=$invalidFormat, outOfRange=$outOfRange)"
+    }
+
+    companion object {
+        /**
+         * Converts each of [rows] with [converter] and counts the outcomes.
+         */
+        @JvmStatic
+        fun <S, T> convert(rows: List<S>, converter: (S) -> ConversionResult<T>): ConversionBatch<T> {
+            val results = ArrayList<ConversionResult<T>>(rows.size)
+            var succeeded = 0
+            var invalidFormat = 0
+            var outOfRange = 0
+            for (row in rows) {
+                val result = converter(row)
+                when (result) {
+                    is ConversionResult.Success -> succeeded++
+                    is ConversionResult.InvalidFormat -> invalidFormat++
+                    ConversionResult.OutOfRange -> outOfRange++
+                }
+                results.add(result)
+            }
+            return ConversionBatch(results, succeeded, invalidFormat, outOfRange)
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.masoud.persiandatetimepicker.utils
+
+/**
+ * Outcome of a date conversion such as [getPersianDateTimeResult]. Bad input is reported as a
+ * value instead of `null` or an exception, so dirty rows are cheap and can be told apart.
+ */
+sealed class ConversionResult<out T> {
+    data class Success<out T>(val value: T) : ConversionResult<T>()
+
+    /**
+     * Text that does not follow the input pattern; [position] is the index of the first
+     * offending char, or the length of the text when it ends too early.
+     */
+    data class InvalidFormat(val position: Int) : ConversionResult<Nothing>()
+
+    /**
+     * A well-formed date or time that does not exist, such as 2023-02-29 or 24:00.
+     */
+    data object OutOfRange : ConversionResult<Nothing>()
+
+    val isSuccess: Boolean
+        get() = this is Success
+
+    /**
+     * The converted value, or `null` when the conversion failed.
+     */
+    fun getOrNull(): T? {
+        return (this as? Success)?.value
+    }
+
+    companion object {
+        /**
+         * Maps a [DateScanner] result to a conversion result, converting a valid one with [value].
+         */
+        internal inline fun <T> fromScan(result: Long, value: (Long) -> T): ConversionResult<T> {
+            return when {
+                DateScanner.isValid(result) -> Success(value(result))
+                result == DateScanner.OUT_OF_RANGE -> OutOfRange
+                else -> InvalidFormat(DateScanner.errorIndex(result))
+            }
+        }
+    }
+}
@@ -0,0 +1,378 @@
+package com.masoud.persiandatetimepicker.utils
+
+import com.masoud.persiandatetimepicker.utils.enums.GregorianDatePattern
+import com.masoud.persiandatetimepicker.utils.enums.PersianDatePattern
+import java.util.TimeZone
+
+/**
+ * Hand-written scanners for the fixed layouts of [PersianDatePattern] and [GregorianDatePattern].
+ *
+ * Digits are read straight from the [CharSequence]: no substrings, no regex and no exceptions.
+ * A scan returns a single long:
+ * - a valid date-time is `(packedDate shl 32) or millisOfDay`, never negative, with the date
+ *   packed as in [JalaliCalendar] (`(year shl 16) or (month shl 8) or day`, 1-based month);
+ * - text that does not follow the layout is `-1 - index` of the first offending char;
+ * - a well-formed date or time that does not exist is [OUT_OF_RANGE].
+ *
+ * Digits may be ASCII, Persian or Arabic-Indic. Numeric fields take one digit up to their full
+ * width (4 for years, 3 for milliseconds, 2 for the rest), literals must match exactly and the
+ * whole range must be consumed. Fields missing from a layout default to the epoch,
+ * 1970-01-01 00:00:00.
+ */
+object DateScanner {
+    const val OUT_OF_RANGE: Long = Long.MIN_VALUE
+
+    private const val YEAR = 0
+    private const val MONTH = 1
+    private const val DAY = 2
+    private const val HOUR = 3
+    private const val MINUTE = 4
+    private const val SECOND = 5
+    private const val MILLIS = 6
+    private const val LITERAL = 16
+
+    // 1970-01-01 in both calendars
+    private const val GREGORIAN_EPOCH = (1970 shl 16) or (1 shl 8) or 1
+    private const val JALALI_EPOCH = (1348 shl 16) or (10 shl 8) or 11
+
+    private const val PERSIAN_ZERO = '\u06F0'
+    private const val ARABIC_INDIC_ZERO = '\u0660'
+
+    private const val MAX_TRANSITION_GAP = PersianCalendarConstants.MILLIS_OF_A_DAY
+
+    private val persianLayouts: Array<IntArray> = Array(PersianDatePattern.entries.size) {
+        val text = PersianDatePattern.entries[it].text
+        if (text.contains("yyyy")) compileLetterRuns(text) else compilePhpStyle(text)
+    }
+
+    private val gregorianLayouts: Array<IntArray> = Array(GregorianDatePattern.entries.size) {
+        compileLetterRuns(GregorianDatePattern.entries[it].text)
+    }
+
+    /**
+     * Scans a Jalali date-time laid out as [pattern] from [text] between [from] and [to].
+     */
+    @JvmStatic
+    @JvmOverloads
+    fun scan(
+        text: CharSequence,
+        pattern: PersianDatePattern,
+        from: Int = 0,
+        to: Int = text.length
+    ): Long {
+        return scan(text, persianLayouts[pattern.ordinal], from, to, jalali = true)
+    }
+
+    /**
+     * Scans a Gregorian date-time laid out as [pattern] from [text] between [from] and [to].
+     */
+    @JvmStatic
+    @JvmOverloads
+    fun scan(
+        text: CharSequence,
+        pattern: GregorianDatePattern,
+        from: Int = 0,
+        to: Int = text.length
+    ): Long {
+        return scan(text, gregorianLayouts[pattern.ordinal], from, to, jalali = false)
+    }
+
+    /**
+     * Scans a Jalali `year/month/day` date whose fields are separated by [delimiter], the layout
+     * of the date input field and of [PersianCalendar.parse].
+     */
+    @JvmStatic
+    @JvmOverloads
+    fun scanJalaliDate(
+        text: CharSequence,
+        delimiter: CharSequence = "/",
+        from: Int = 0,
+        to: Int = text.length
+    ): Long {
+        return scanJalaliDate(text, delimiter, from, to, checkRange = true)
+    }
+
+    /**
+     * [scanJalaliDate] that leaves range checks to the caller when [checkRange] is false.
+     */
+    internal fun scanJalaliDate(
+        text: CharSequence,
+        delimiter: CharSequence,
+        from: Int,
+        to: Int,
+        checkRange: Boolean
+    ): Long {
+        var i = from
+        // Packed a field at a time: year, then month and day a byte each
+        var date = 0
+        for (field in 0..2) {
+            if (field > 0) {
+                if (!matches(text, i, to, delimiter)) return formatError(i)
+                i += delimiter.length
+            }
+            val number = readNumber(text, i, to, if (field == 0) 4 else 2)
+            if (number < 0) return number
+            date = (date shl 8) or (number ushr 32).toInt()
+            i = number.toInt()
+        }
+        if (i != to) return formatError(i)
+        if (checkRange && !JalaliCalendar.isValid(
+                JalaliCalendar.year(date), JalaliCalendar.month(date), JalaliCalendar.day(date)
+            )
+        ) {
+            return OUT_OF_RANGE
+        }
+        return date.toLong() shl 32
+    }
+
+    @JvmStatic
+    fun isValid(result: Long): Boolean {
+        return result >= 0
+    }
+
+    /**
+     * Index of the first char that does not follow the layout, or -1 if [result] is not a format
+     * error.
+     */
+    @JvmStatic
+    fun errorIndex(result: Long): Int {
+        return if (result < 0 && result != OUT_OF_RANGE) (-1L - result).toInt() else -1
+    }
+
+    /**
+     * The packed date of a valid [result].
+     */
+    @JvmStatic
+    fun date(result: Long): Int {
+        return (result ushr 32).toInt()
+    }
+
+    @JvmStatic
+    fun millisOfDay(result: Long): Int {
+        return result.toInt()
+    }
+
+    /**
+     * Converts a valid Jalali [result], read as wall time in [zone], to epoch millis.
+     */
+    @JvmStatic
+    fun jalaliToEpochMillis(result: Long, zone: TimeZone): Long {
+        val epochDay = JalaliCalendar.packedToEpochDay(date(result))
+        return wallToEpochMillis(JalaliCalendar.epochDayToEpochMillis(epochDay) + millisOfDay(result), zone)
+    }
+
+    /**
+     * Converts a valid Gregorian [result], read as wall time in [zone], to epoch millis.
+     */
+    @JvmStatic
+    fun gregorianToEpochMillis(result: Long, zone: TimeZone): Long {
+        val epochDay = gregorianToEpochDay(date(result))
+        return wallToEpochMillis(JalaliCalendar.epochDayToEpochMillis(epochDay) + millisOfDay(result), zone)
+    }
+
+    /**
+     * Resolves a wall time as `SimpleDateFormat` does: a repeated hour takes the later offset
+     * and a skipped hour is read with the offset before the transition.
+     */
+    internal fun wallToEpochMillis(wallMillis: Long, zone: TimeZone): Long {
+        val before = zone.getOffset(wallMillis - MAX_TRANSITION_GAP)
+        val after = zone.getOffset(wallMillis + MAX_TRANSITION_GAP)
+        if (before == after) {
+            return wallMillis - before
+        }
+        val withAfter = wallMillis - after
+        val withBefore = wallMillis - before
+        val afterValid = zone.getOffset(withAfter) == after
+        val beforeValid = zone.getOffset(withBefore) == before
+        return when {
+            afterValid && beforeValid -> maxOf(withAfter, withBefore)
+            afterValid -> withAfter
+            else -> withBefore
+        }
+    }
+
+    private fun scan(text: CharSequence, layout: IntArray, from: Int, to: Int, jalali: Boolean): Long {
+        var year = -1
+        var month = -1
+        var day = -1
+        var hour = 0
+        var minute = 0
+        var second = 0
+        var millis = 0
+        var i = from
+        for (op in layout) {
+            if (op >= LITERAL) {
+                if (i >= to || text[i] != (op - LITERAL).toChar()) return formatError(i)
+                i++
+                continue
+            }
+            val number = readNumber(text, i, to, if (op == YEAR) 4 else if (op == MILLIS) 3 else 2)
+            if (number < 0) return number
+            val value = (number ushr 32).toInt()
+            when (op) {
+                YEAR -> year = value
+                MONTH -> month = value
+                DAY -> day = value
+                HOUR -> hour = value
+                MINUTE -> minute = value
+                SECOND -> second = value
+                else -> millis = value
+            }
+            i = number.toInt()
+        }
+        if (i != to) return formatError(i)
+
+        val epoch = if (jalali) JALALI_EPOCH else GREGORIAN_EPOCH
+        if (year < 0) year = JalaliCalendar.year(epoch)
+        if (month < 0) month = JalaliCalendar.month(epoch)
+        if (day < 0) day = JalaliCalendar.day(epoch)
+        val validDate = if (jalali) {
+            JalaliCalendar.isValid(year, month, day)
+        } else {
+            month in 1..12 && day >= 1 && day <= gregorianMonthLength(year, month)
+        }
+        if (!validDate || hour > 23 || minute > 59 || second > 59) {
+            return OUT_OF_RANGE
+        }
+        val millisOfDay = ((hour * 60 + minute) * 60 + second) * 1000 + millis
+        return (JalaliCalendar.pack(year, month, day).toLong() shl 32) or millisOfDay.toLong()
+    }
+
+    /**
+     * Value of an ASCII, Persian (U+06F0) or Arabic-Indic (U+0660) digit, or -1 for any other
+     * char. Pasted localized input is read in place, without a normalized copy.
+     */
+    private fun digitValue(c: Char): Int {
+        return when (c) {
+            in '0'..'9' -> c - '0'
+            in PERSIAN_ZERO..PERSIAN_ZERO + 9 -> c - PERSIAN_ZERO
+            in ARABIC_INDIC_ZERO..ARABIC_INDIC_ZERO + 9 -> c - ARABIC_INDIC_ZERO
+            else -> -1
+        }
+    }
+
+    /**
+     * Reads one to [maxWidth] digits at [from], returning `(value shl 32) or end`, or the
+     * format error of [from] when there is no digit.
+     */
+    private fun readNumber(text: CharSequence, from: Int, to: Int, maxWidth: Int): Long {
+        val end = minOf(to, from + maxWidth)
+        var value = 0
+        var i = from
+        while (i < end) {
+            val digit = digitValue(text[i])
+            if (digit < 0) break
+            value = value * 10 + digit
+            i++
+        }
+        if (i == from) return formatError(from)
+        return (value.toLong() shl 32) or i.toLong()
+    }
+
+    private fun matches(text: CharSequence, from: Int, to: Int, literal: CharSequence): Boolean {
+        if (to - from < literal.length) return false
+        for (k in literal.indices) {
+            if (text[from + k] != literal[k]) return false
+        }
+        return true
+    }
+
+    private fun formatError(index: Int): Long {
+        return -1L - index
+    }
+
+    private fun gregorianMonthLength(year: Int, month: Int): Int {
+        return when (month) {
+            2 -> if (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) 29 else 28
+            4, 6, 9, 11 -> 30
+            else -> 31
+        }
+    }
+
+    /**
+     * Days since 1970-01-01 of a packed proleptic Gregorian date.
+     */
+    private fun gregorianToEpochDay(packed: Int): Long {
+        val month = JalaliCalendar.month(packed)
+        // Counted from March, so the leap day closes the year
+        val year = (JalaliCalendar.year(packed) - if (month <= 2) 1 else 0).toLong()
+        val era = Math.floorDiv(year, 400L)
+        val yearOfEra = year - era * 400
+        val dayOfYear = (153 * (if (month > 2) month - 3 else month + 9) + 2) / 5 + JalaliCalendar.day(packed) - 1
+        val dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear
+        return era * 146097 + dayOfEra - 719468
+    }
+
+    /**
+     * Compiles the PHP-style single letters of the Persian patterns, see [JalaliFormatter].
+     */
+    private fun compilePhpStyle(pattern: String): IntArray {
+        val ops = ArrayList<Int>()
+        var i = 0
+        while (i < pattern.length) {
+            val c = pattern[i]
+            if (c == '\\' && i + 1 < pattern.length) {
+                ops.add(LITERAL + pattern[i + 1].code)
+                i += 2
+                continue
+            }
+            ops.add(
+                when (c) {
+                    'Y' -> YEAR
+                    'm', 'n' -> MONTH
+                    'd', 'j' -> DAY
+                    'H', 'G' -> HOUR
+                    'i' -> MINUTE
+                    's' -> SECOND
+                    else -> LITERAL + c.code
+                }
+            )
+            i++
+        }
+        return ops.toIntArray()
+    }
+
+    /**
+     * Compiles `yyyy-MM-dd` style letter runs; text in single quotes is literal.
+     */
+    private fun compileLetterRuns(pattern: String): IntArray {
+        val ops = ArrayList<Int>()
+        var i = 0
+        while (i < pattern.length) {
+            val c = pattern[i]
+            if (c == '\'') {
+                val end = pattern.indexOf('\'', i + 1).let { if (it < 0) pattern.length else it }
+                // '' is a single quote
+                if (end == i + 1) ops.add(LITERAL + '\''.code)
+                for (k in i + 1 until end) {
+                    ops.add(LITERAL + pattern[k].code)
+                }
+                i = end + 1
+                continue
+            }
+            var run = 1
+            while (i + run < pattern.length && pattern[i + run] == c) {
+                run++
+            }
+            val field = when (c) {
+                'y' -> YEAR
+                'M' -> MONTH
+                'd' -> DAY
+                'H' -> HOUR
+                'm' -> MINUTE
+                's' -> SECOND
+                'S' -> MILLIS
+                else -> -1
+            }
+            if (field >= 0) {
+                ops.add(field)
+            } else {
+                for (k in 0 until run) {
+                    ops.add(LITERAL + c.code)
+                }
+            }
+            i += run
+        }
+        return ops.toIntArray()
+    }
+}
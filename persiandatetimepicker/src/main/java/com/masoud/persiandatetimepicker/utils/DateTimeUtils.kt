@@ -1,26 +1,19 @@
+@file:JvmName("DateTimeUtilsKt")
+@file:JvmMultifileClass
 @file:Suppress("unused", "NULLABILITY_MISMATCH_BASED_ON_JAVA_ANNOTATIONS")
 
 package com.masoud.persiandatetimepicker.utils
 
-import android.annotation.SuppressLint
-import android.text.format.DateFormat
-import android.widget.TextView
-import androidx.fragment.app.FragmentManager
-import com.google.android.material.textfield.TextInputEditText
-import com.masoud.persiandatetimepicker.datepicker.MaterialDatePicker
-import com.masoud.persiandatetimepicker.timepicker.TimePickerBuilder
 import com.masoud.persiandatetimepicker.utils.enums.GregorianDatePattern
 import com.masoud.persiandatetimepicker.utils.enums.PersianDatePattern
 import com.masoud.persiandatetimepicker.utils.enums.TimeZones
-import saman.zamani.persiandate.PersianDate
-import saman.zamani.persiandate.PersianDateFormat
 import java.text.ParseException
-import java.text.SimpleDateFormat
 import java.util.Calendar
 import java.util.Date
-import java.util.Locale
-import com.masoud.persiandatetimepicker.R
+import java.util.TimeZone
 
+// The helpers that need Android are in AndroidDateTimeUtils.kt, so this file also builds for
+// the plain JVM benchmarks. Both compile into one DateTimeUtilsKt class.
 
 /**
  * This function will get a date object in gregorian calendar
@@ -34,16 +27,17 @@ fun getPersianDateTime(
     gregorianDate: Date,
     outputFormat: PersianDatePattern = PersianDatePattern.PATTERN_1
 ): String {
-    val persianDate = PersianDate(gregorianDate)
-    val persianDateFormat = PersianDateFormat(outputFormat.text)
-
-    return persianDateFormat.format(persianDate)
+    return JalaliFormatter.of(outputFormat).format(gregorianDate.time)
 }
 
 /**
  * This function will get a string date in gregorian calendar and its format
  * and returns persian date in specified output format
  *
+ * [outputFormat] is printed by [JalaliFormatter], or by PersianDateFormat when it uses a letter
+ * [JalaliFormatter] does not know; an app that does not ship PersianDate then gets the
+ * unknown letters as is.
+ *
  * @param gregorianDate gregorian date string
  * @param inputFormat   format of gregorianDate
  * @param outputFormat  persian date format
@@ -56,15 +50,15 @@ fun getPersianDateTime(
     outputFormat: String,
     timeZone: TimeZones = TimeZones.UTC
 ): String? {
-    val sdf = SimpleDateFormat(inputFormat, Locale.ENGLISH)
-    sdf.timeZone = timeZone.timeZone
-
     try {
-        val date = sdf.parse(gregorianDate)
-        val persianDate = PersianDate(date)
-        val persianDateFormat = PersianDateFormat(outputFormat)
+        val millis = GregorianFormatters.parseMillis(gregorianDate, inputFormat, timeZone.timeZone)
+            ?: return null
 
-        return persianDateFormat.format(persianDate)
+        val formatter = JalaliFormatter.of(outputFormat)
+        if (formatter.hasUnknownLetters) {
+            PersianDateInterop.format(millis, outputFormat)?.let { return it }
+        }
+        return formatter.format(millis)
 
     } catch (ignored: Exception) {
     }
@@ -72,6 +66,45 @@ fun getPersianDateTime(
     return null
 }
 
+/**
+ * [getPersianDateTime] that reports why a date could not be converted instead of returning
+ * `null`. [gregorianDate] must follow [inputFormat] exactly and name a date that exists.
+ *
+ * @param gregorianDate gregorian date string
+ * @param inputFormat   format of gregorianDate
+ * @param outputFormat  persian date format
+ * @param timeZone      time zone of gregorianDate
+ * @return persian date in specified output format, or the reason it could not be converted
+ */
+fun getPersianDateTimeResult(
+    gregorianDate: CharSequence,
+    inputFormat: GregorianDatePattern,
+    outputFormat: PersianDatePattern = PersianDatePattern.PATTERN_1,
+    timeZone: TimeZones = TimeZones.UTC
+): ConversionResult<String> {
+    return ConversionResult.fromScan(DateScanner.scan(gregorianDate, inputFormat)) {
+        val millis = DateScanner.gregorianToEpochMillis(it, timeZone.timeZone ?: TimeZone.getDefault())
+        JalaliFormatter.of(outputFormat).format(millis)
+    }
+}
+
+/**
+ * Converts every date of [gregorianDates] as [getPersianDateTimeResult] does and counts the
+ * rows that could not be.
+ *
+ * @return per-row persian dates or failures, with counts of each
+ */
+fun getPersianDateTimes(
+    gregorianDates: List<CharSequence>,
+    inputFormat: GregorianDatePattern,
+    outputFormat: PersianDatePattern = PersianDatePattern.PATTERN_1,
+    timeZone: TimeZones = TimeZones.UTC
+): ConversionBatch<String> {
+    return ConversionBatch.convert(gregorianDates) {
+        getPersianDateTimeResult(it, inputFormat, outputFormat, timeZone)
+    }
+}
+
 /**
  * Converts a given Gregorian date string to a Persian date string, preserving the time component.
  *
@@ -82,20 +115,17 @@ fun getPersianDateTime(
  * @param gregorianDate The input Gregorian date string in the format "yyyy-MM-dd HH:mm:ss".
  * @return A string representing the corresponding Persian date and the original time component.
  */
-@SuppressLint("SimpleDateFormat")
 fun getPersianDateWithGregorianTime(gregorianDate: String): String {
-    val inputFormat = SimpleDateFormat(GregorianDatePattern.PATTERN_1.text, Locale.ENGLISH)
-    val timeFormat = SimpleDateFormat(GregorianDatePattern.PATTERN_3.text, Locale.ENGLISH)
-
-    val date = inputFormat.parse(gregorianDate)
+    // Parsed once: the time is the wall time of the text, the date its UTC instant seen locally
+    val millis = GregorianFormatters.parseMillis(
+        gregorianDate,
+        GregorianDatePattern.PATTERN_1.text,
+        TimeZones.UTC.timeZone
+    ) ?: throw ParseException("Unparseable date: \"$gregorianDate\"", 0)
 
-    val timeString = date?.let { timeFormat.format(it) }
+    val timeString = GregorianFormatters.format(millis, GregorianDatePattern.PATTERN_3.text, TimeZones.UTC.timeZone)
 
-    val persianDate = getPersianDateTime(
-        gregorianDate,
-        inputFormat = GregorianDatePattern.PATTERN_1.text,
-        PersianDatePattern.PATTERN_4.text
-    )
+    val persianDate = JalaliFormatter.of(PersianDatePattern.PATTERN_4).format(millis)
 
     return "$persianDate $timeString"
 }
@@ -116,26 +146,39 @@ fun getGregorianDateTime(
     outputFormat: GregorianDatePattern = GregorianDatePattern.PATTERN_1,
     adjustTimeZone: Boolean = false
 ): String? {
-    val pdFormatter = PersianDateFormat(inputFormat.text)
-
-    try {
-        val pDate = pdFormatter.parse(persianDate)
-        val sdf = SimpleDateFormat(outputFormat.text, Locale.ENGLISH)
+    val result = DateScanner.scan(persianDate, inputFormat)
+    if (!DateScanner.isValid(result)) {
+        return null
+    }
+    val millis = DateScanner.jalaliToEpochMillis(result, TimeZone.getDefault())
 
-        if (adjustTimeZone) {
-            val iranTimeZone = TimeZones.ASIA_TEHRAN
-            val calendar = Calendar.getInstance(iranTimeZone.timeZone)
-            calendar.time = pDate.toDate()
+    if (adjustTimeZone) {
+        return GregorianFormatters.format(millis, outputFormat.text, TimeZones.GMT.timeZone)
+    }
 
-            sdf.timeZone = TimeZones.GMT.timeZone
-            return sdf.format(calendar.time)
-        }
+    return GregorianFormatters.format(millis, outputFormat.text, null)
+}
 
-        return sdf.format(pDate.toDate())
-    } catch (ignored: Exception) {
+/**
+ * [getGregorianDateTime] that reports why a date could not be converted instead of returning
+ * `null`.
+ *
+ * @param persianDate  persian date string
+ * @param inputFormat  format of persianDate
+ * @param outputFormat gregorian date format
+ * @return gregorian date in specified output format, or the reason it could not be converted
+ */
+fun getGregorianDateTimeResult(
+    persianDate: CharSequence,
+    inputFormat: PersianDatePattern = PersianDatePattern.PATTERN_3,
+    outputFormat: GregorianDatePattern = GregorianDatePattern.PATTERN_1,
+    adjustTimeZone: Boolean = false
+): ConversionResult<String> {
+    return ConversionResult.fromScan(DateScanner.scan(persianDate, inputFormat)) {
+        val millis = DateScanner.jalaliToEpochMillis(it, TimeZone.getDefault())
+        val zone = if (adjustTimeZone) TimeZones.GMT.timeZone else null
+        GregorianFormatters.format(millis, outputFormat.text, zone)
     }
-
-    return null
 }
 
 /**
@@ -156,32 +199,6 @@ fun getGregorianDate(
     return getDate(dateTime)
 }
 
-/**
- * This function converts time in millisecond to dateTime using provided format
- *
- * @param timeInMillis time in millisecond
- * @return dateTime in provided format
- */
-fun convertLongToDateTimeUTC(
-    format: GregorianDatePattern = GregorianDatePattern.PATTERN_1,
-    timeInMillis: Long
-): String? {
-    val dateTime = DateFormat.format(format.text, timeInMillis).toString()
-    val sdf = SimpleDateFormat(format.text, Locale.ENGLISH)
-
-    try {
-        val date = sdf.parse(dateTime)
-        sdf.timeZone = TimeZones.UTC.timeZone
-
-        return sdf.format(date!!)
-
-    } catch (ignored: Exception) {
-    }
-
-    return dateTime
-}
-
-
 /**
  * This function will convert a date from one date format to another one
  *
@@ -199,13 +216,8 @@ fun convertDateFormat(
 ): String? {
     try {
         val date = getDate(dateTime, inputFormat)
-        val sdf = SimpleDateFormat(outputFormat.text, Locale.ENGLISH)
-
-        timeZone?.let {
-            sdf.timeZone = it.timeZone
-        }
 
-        return sdf.format(date!!)
+        return GregorianFormatters.format(date!!.time, outputFormat.text, timeZone?.timeZone)
 
     } catch (ignored: Exception) {
     }
@@ -213,6 +225,28 @@ fun convertDateFormat(
     return null
 }
 
+/**
+ * [convertDateFormat] that reports why a date could not be converted instead of returning
+ * `null`. [dateTime] must follow [inputFormat] exactly and name a date that exists.
+ *
+ * @param dateTime     input dateTime, in UTC
+ * @param inputFormat  input date format
+ * @param outputFormat output date format
+ * @param timeZone     output date timezone
+ * @return date in output date format and timezone, or the reason it could not be converted
+ */
+fun convertDateFormatResult(
+    dateTime: CharSequence,
+    inputFormat: GregorianDatePattern,
+    outputFormat: GregorianDatePattern = GregorianDatePattern.PATTERN_1,
+    timeZone: TimeZones? = null
+): ConversionResult<String> {
+    return ConversionResult.fromScan(DateScanner.scan(dateTime, inputFormat)) {
+        val millis = DateScanner.gregorianToEpochMillis(it, TimeZones.UTC.timeZone ?: TimeZone.getDefault())
+        GregorianFormatters.format(millis, outputFormat.text, timeZone?.timeZone)
+    }
+}
+
 /**
  * Retrieves the current date and time as a `Date` object.
  *
@@ -242,12 +276,7 @@ fun getTimeNow(): Long {
  * @return current dateTime
  */
 fun getDateNow(format: GregorianDatePattern, timeZone: TimeZones = TimeZones.UTC): String {
-    val sdf = SimpleDateFormat(format.text, Locale.ENGLISH)
-    sdf.timeZone = timeZone.timeZone
-
-    val currentDate = getDateNow()
-
-    return sdf.format(currentDate)
+    return GregorianFormatters.format(getTimeNow(), format.text, timeZone.timeZone)
 }
 
 
@@ -257,8 +286,7 @@ fun getDateNow(format: GregorianDatePattern, timeZone: TimeZones = TimeZones.UTC
  * @return The current date in the specified format.
  */
 fun getCurrentPersianDate(format: PersianDatePattern = PersianDatePattern.PATTERN_1): String {
-    val currentDate = getDateNow()
-    return getPersianDateTime(currentDate, format)
+    return JalaliFormatter.of(format).format(getTimeNow())
 }
 
 
@@ -287,17 +315,31 @@ fun getDate(
     format: GregorianDatePattern = GregorianDatePattern.PATTERN_1,
     timeZone: TimeZones = TimeZones.UTC
 ): Date? {
-    val dateFormat = SimpleDateFormat(format.text, Locale.ENGLISH)
-    dateFormat.timeZone = timeZone.timeZone
-
-    return try {
-        if (dateTime != null) {
-            dateFormat.parse(dateTime)
-        } else null
-    } catch (ignored: Exception) {
-        null
+    if (dateTime == null) {
+        return null
     }
 
+    return GregorianFormatters.parseMillis(dateTime, format.text, timeZone.timeZone)?.let { Date(it) }
+
+}
+
+/**
+ * [getDate] that reports why a date could not be parsed instead of returning `null`.
+ * [dateTime] must follow [format] exactly and name a date that exists.
+ *
+ * @param dateTime dateTime string
+ * @param format   dateTime format
+ * @param timeZone timeZone
+ * @return Date object, or the reason it could not be parsed
+ */
+fun getDateResult(
+    dateTime: CharSequence,
+    format: GregorianDatePattern = GregorianDatePattern.PATTERN_1,
+    timeZone: TimeZones = TimeZones.UTC
+): ConversionResult<Date> {
+    return ConversionResult.fromScan(DateScanner.scan(dateTime, format)) {
+        Date(DateScanner.gregorianToEpochMillis(it, timeZone.timeZone ?: TimeZone.getDefault()))
+    }
 }
 
 /**
@@ -312,13 +354,7 @@ fun getDate(
     format: GregorianDatePattern = GregorianDatePattern.PATTERN_1,
     timeZone: TimeZones? = TimeZones.UTC
 ): String? {
-    val dateFormat = SimpleDateFormat(format.text, Locale.ENGLISH)
-
-    timeZone?.let {
-        dateFormat.timeZone = it.timeZone
-    }
-
-    return dateFormat.format(dateTime)
+    return GregorianFormatters.format(dateTime.time, format.text, timeZone?.timeZone)
 }
 
 
@@ -331,19 +367,10 @@ fun getDate(
  * @return returns `true` if the first date is after second date, otherwise returns `false`
  */
 fun isDateAfter(firstDate: String, secondDate: String, format: String): Boolean {
-    var isDateAfter = false
-    val sdf = SimpleDateFormat(format, Locale.ENGLISH)
-
-    try {
-        val dateSync = sdf.parse(secondDate)
-        val dateNow = sdf.parse(firstDate)
+    val dateSync = GregorianFormatters.parseMillis(secondDate, format, null) ?: return false
+    val dateNow = GregorianFormatters.parseMillis(firstDate, format, null) ?: return false
 
-        if (dateNow != null) isDateAfter = dateNow.after(dateSync)
-
-    } catch (ignored: ParseException) {
-    }
-
-    return isDateAfter
+    return dateNow > dateSync
 }
 
 /**
@@ -371,125 +398,7 @@ fun convertDateStringToMillis(
     dateString: String,
     format: String = GregorianDatePattern.PATTERN_7.text
 ): Long? {
-    return try {
-        val sdf = SimpleDateFormat(format, Locale.ENGLISH)
-        sdf.timeZone = TimeZones.UTC.timeZone
-        sdf.parse(dateString)?.time
-    } catch (e: Exception) {
-        null
-    }
-}
-
-/**
- * Shows a Persian date picker using `MaterialDatePicker`.
- *
- * @param textView The [TextView] where the selected date (and optionally time) will be set.
- * @param title The title to be shown on the date picker dialog.
- * @param showTimePicker If `true`, a time picker will be shown after the user selects a date.
- */
-fun FragmentManager.showDateTimePicker(
-    textView: TextView,
-    title: String,
-    showTimePicker: Boolean = false
-) {
-    val jalaliDateTime = textView.text
-
-    val (initialDate, initialTime) =
-        jalaliDateTime?.split(" ")?.let { it.getOrNull(0) to it.getOrNull(1) } ?: (null to null)
-
-    val gregorianDate = initialDate?.let {
-        getGregorianDateTime(
-            it,
-            inputFormat = PersianDatePattern.PATTERN_6,
-            outputFormat = GregorianDatePattern.PATTERN_7
-        )
-    }
-
-    val defaultSelection = gregorianDate?.let {
-        convertDateStringToMillis(it)
-    } ?: MaterialDatePicker.todayInUtcMilliseconds()
-
-    val datePicker =
-        MaterialDatePicker.Builder.datePicker()
-            .setTitleText(title)
-            .setEnableHoliday(true)
-            .setSelection(defaultSelection)
-            .setPositiveButtonText(R.string.persian_picker_confirm)
-            .setNegativeButtonText(R.string.persian_picker_cancel)
-            //.setTheme(R.style.ThemeOverlay_App_DatePicker)
-            .build()
-
-    datePicker.show(this, datePicker.toString())
-
-    datePicker.addOnPositiveButtonClickListener { selectedDate ->
-        val gregorianDate = Date(selectedDate)
-        val persianDate = getPersianDateTime(
-            gregorianDate,
-            outputFormat = PersianDatePattern.PATTERN_4
-        )
-        if (showTimePicker) {
-            var hour = 0
-            var minute = 0
-            initialTime?.let {
-                val parts = it.split(":")
-                hour = parts.getOrNull(0)?.toIntOrNull() ?: 0
-                minute = parts.getOrNull(1)?.toIntOrNull() ?: 0
-            }
-
-            textView.showLinearTimePicker(date = persianDate, hour = hour, minute = minute)
-        } else {
-            textView.text = persianDate
-        }
-    }
-}
-
-/**
- * Shows a linear (scrollable) Persian-style time picker.
- *
- * @param title the title of time picker
- * @param date An optional Persian date string to prefix the selected time.
-
- * @param hour the default hour of time picker
- * @param title the default minute of time picker
- */
-@SuppressLint("DefaultLocale", "SetTextI18n")
-fun TextView.showLinearTimePicker(
-    title: String = this.context.resources.getString(R.string.persian_picker_select_time),
-    date: String? = null,
-    hour: Int = 0,
-    minute: Int = 0
-) {
-    val timePicker = TimePickerBuilder(this.context)
-        .setInitialTime(hour, minute)
-        .setTitle(title)
-        .setOnConfirmListener { selectedTime ->
-            this.text = if (date.isNullOrEmpty()) selectedTime else "$date $selectedTime"
-        }
-    timePicker.show()
-}
-
-
-/**
- * Sets the filter date-time for a given pair of TextInputEditText fields.
- *
- * @param editTextFrom The TextInputEditText for the from date-time.
- * @param editTextTo The TextInputEditText for the to date-time.
- * @param enableTime if true dateTime else date.
- */
-fun setDateTimeFilterDefaults(
-    editTextFrom: TextInputEditText,
-    editTextTo: TextInputEditText,
-    enableTime: Boolean = true
-) {
-    val currentDateTime = getDateNow()
-    val startDate = subtractToMidnight(currentDateTime)
-    val datePattern = if (enableTime) PersianDatePattern.PATTERN_5 else PersianDatePattern.PATTERN_2
-
-    val formattedFromDate = getPersianDateTime(startDate, datePattern)
-    val formattedToDate = getPersianDateTime(currentDateTime, datePattern)
-
-    editTextFrom.setText(formattedFromDate)
-    editTextTo.setText(formattedToDate)
+    return GregorianFormatters.parseMillis(dateString, format, TimeZones.UTC.timeZone)
 }
 
 /**
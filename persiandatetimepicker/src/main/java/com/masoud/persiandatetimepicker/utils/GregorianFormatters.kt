@@ -0,0 +1,169 @@
+package com.masoud.persiandatetimepicker.utils
+
+import com.masoud.persiandatetimepicker.utils.enums.GregorianDatePattern
+import com.masoud.persiandatetimepicker.utils.enums.TimeZones
+import java.text.ParsePosition
+import java.time.DateTimeException
+import java.time.Instant
+import java.time.LocalDate
+import java.time.LocalTime
+import java.time.ZoneId
+import java.time.ZoneOffset
+import java.time.ZonedDateTime
+import java.time.format.DateTimeFormatter
+import java.time.format.DateTimeFormatterBuilder
+import java.time.format.ResolverStyle
+import java.time.temporal.ChronoField
+import java.time.temporal.TemporalAccessor
+import java.time.temporal.TemporalField
+import java.time.temporal.TemporalQueries
+import java.util.Locale
+import java.util.TimeZone
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Registry of immutable [DateTimeFormatter]s for Gregorian patterns, keyed by pattern and zone,
+ * replacing per-call `SimpleDateFormat`s. The formatters are thread-safe, so they are built once
+ * and shared. Formatters of the [GregorianDatePattern]s are kept for good; those of any other
+ * pattern only for the [MAX_CACHED_PATTERNS] pattern and zone pairs used last, so patterns built
+ * at run time cannot grow the registry without bound.
+ *
+ * Parsing mimics the lenient `SimpleDateFormat` it replaces: field widths and values are not
+ * checked strictly, text after the pattern is ignored, and missing fields default to
+ * 1970-01-01 00:00:00. A `null` zone means the device zone.
+ *
+ * Unlike `SimpleDateFormat`, which switches to the Julian calendar before 1582-10-15, java.time
+ * uses the proleptic Gregorian calendar throughout. Dates before the switch therefore format
+ * and parse to different millis than they did, e.g. the day `SimpleDateFormat` calls
+ * 1582-10-04 is 1582-10-14 here.
+ *
+ * The ISO-8601 patterns [GregorianDatePattern.PATTERN_1] and [GregorianDatePattern.PATTERN_5],
+ * the usual server formats, are parsed by [DateScanner] first and only fall back to the
+ * formatter for text it does not take, such as trailing text or out of range fields.
+ */
+object GregorianFormatters {
+    /**
+     * How many formatters of patterns other than the [GregorianDatePattern]s are kept.
+     */
+    internal const val MAX_CACHED_PATTERNS = 64
+
+    private val libraryPatterns = GregorianDatePattern.entries.mapTo(HashSet()) { it.text }
+
+    // Library pattern -> zone id -> formatter, bounded by the patterns and the zone ids in use
+    private val formatters = ConcurrentHashMap<String, ConcurrentHashMap<String, DateTimeFormatter>>()
+
+    // "zone id\npattern" -> formatter of any other pattern, least recently used first
+    private val otherFormatters =
+        object : LinkedHashMap<String, DateTimeFormatter>(MAX_CACHED_PATTERNS, 0.75f, true) {
+            override fun removeEldestEntry(eldest: MutableMap.MutableEntry<String, DateTimeFormatter>?): Boolean {
+                return size > MAX_CACHED_PATTERNS
+            }
+        }
+
+    @JvmStatic
+    fun of(pattern: GregorianDatePattern, zone: TimeZones?): DateTimeFormatter {
+        return of(pattern.text, zone?.timeZone)
+    }
+
+    /**
+     * Returns the formatter of [pattern] in [zone], building it on first use.
+     */
+    @JvmStatic
+    fun of(pattern: String, zone: TimeZone?): DateTimeFormatter {
+        val timeZone = zone ?: TimeZone.getDefault()
+        val zoneId = timeZone.id
+        if (pattern in libraryPatterns) {
+            val byZone = formatters[pattern] ?: formatters.getOrPut(pattern) { ConcurrentHashMap() }
+            return byZone[zoneId] ?: byZone.getOrPut(zoneId) { build(pattern, timeZone) }
+        }
+        // Zone ids hold no line breaks, so the key is unambiguous
+        val key = zoneId + '\n' + pattern
+        synchronized(otherFormatters) {
+            otherFormatters[key]?.let { return it }
+        }
+        // Built outside the lock; a racing thread at worst builds an equal formatter
+        val formatter = build(pattern, timeZone)
+        synchronized(otherFormatters) {
+            otherFormatters[key] = formatter
+        }
+        return formatter
+    }
+
+    private fun build(pattern: String, zone: TimeZone): DateTimeFormatter {
+        return DateTimeFormatterBuilder()
+            .parseCaseInsensitive()
+            .parseLenient()
+            .appendPattern(pattern)
+            .toFormatter(Locale.ENGLISH)
+            .withResolverStyle(ResolverStyle.LENIENT)
+            .withZone(toZoneId(zone))
+    }
+
+    @JvmStatic
+    fun format(epochMillis: Long, pattern: String, zone: TimeZone?): String {
+        return of(pattern, zone).format(Instant.ofEpochMilli(epochMillis))
+    }
+
+    /**
+     * Parses the beginning of [text] with [pattern] in [zone], or returns `null` when it does
+     * not match.
+     */
+    @JvmStatic
+    fun parseMillis(text: String, pattern: String, zone: TimeZone?): Long? {
+        val isoPattern = isoPattern(pattern)
+        if (isoPattern != null) {
+            val result = DateScanner.scan(text, isoPattern)
+            if (DateScanner.isValid(result)) {
+                return DateScanner.gregorianToEpochMillis(result, zone ?: TimeZone.getDefault())
+            }
+        }
+        val formatter = of(pattern, zone)
+        return try {
+            val parsed = formatter.parse(text, ParsePosition(0))
+            toEpochMillis(parsed, formatter.zone)
+        } catch (ignored: DateTimeException) {
+            null
+        }
+    }
+
+    private fun isoPattern(pattern: String): GregorianDatePattern? {
+        return when (pattern) {
+            GregorianDatePattern.PATTERN_1.text -> GregorianDatePattern.PATTERN_1
+            GregorianDatePattern.PATTERN_5.text -> GregorianDatePattern.PATTERN_5
+            else -> null
+        }
+    }
+
+    private fun toEpochMillis(parsed: TemporalAccessor, zone: ZoneId): Long {
+        val date = parsed.query(TemporalQueries.localDate()) ?: LocalDate.of(
+            fieldOr(parsed, ChronoField.YEAR, 1970),
+            fieldOr(parsed, ChronoField.MONTH_OF_YEAR, 1),
+            fieldOr(parsed, ChronoField.DAY_OF_MONTH, 1)
+        )
+        val time = parsed.query(TemporalQueries.localTime()) ?: LocalTime.of(
+            fieldOr(parsed, ChronoField.HOUR_OF_DAY, 0),
+            fieldOr(parsed, ChronoField.MINUTE_OF_HOUR, 0),
+            fieldOr(parsed, ChronoField.SECOND_OF_MINUTE, 0)
+        )
+        // An offset in the text wins over the zone; a repeated DST hour takes the later offset,
+        // both as with SimpleDateFormat
+        val offset = parsed.query(TemporalQueries.offset())
+        return ZonedDateTime.of(date, time, offset ?: zone)
+            .withLaterOffsetAtOverlap()
+            .toInstant()
+            .toEpochMilli()
+    }
+
+    private fun fieldOr(parsed: TemporalAccessor, field: TemporalField, default: Int): Int {
+        return if (parsed.isSupported(field)) parsed.get(field) else default
+    }
+
+    private fun toZoneId(zone: TimeZone): ZoneId {
+        return try {
+            ZoneId.of(zone.id, ZoneId.SHORT_IDS)
+        } catch (ignored: DateTimeException) {
+            // Legacy ids java.time does not know, e.g. SystemV/AST4
+            ZoneOffset.ofTotalSeconds(zone.rawOffset / 1000)
+        }
+    }
+}
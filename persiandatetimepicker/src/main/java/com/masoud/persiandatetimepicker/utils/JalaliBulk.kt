@@ -0,0 +1,179 @@
+package com.masoud.persiandatetimepicker.utils
+
+import java.util.TimeZone
+import java.util.concurrent.ForkJoinPool
+import java.util.concurrent.RecursiveAction
+
+/**
+ * Bulk conversion of epoch millis to Jalali dates over primitive arrays, for columns of
+ * timestamps that would otherwise go through [getPersianDateTime] one value at a time.
+ *
+ * Each value is taken on its local day in the given zone. The loops remember the month of the
+ * previous value, so sorted input (or any input with runs in the same month) is mostly served by
+ * one subtraction instead of a full conversion.
+ */
+object JalaliBulk {
+    /**
+     * Length of a date written by [formatToJalali] into a char array: `yyyy/MM/dd`.
+     */
+    const val DATE_LENGTH: Int = 10
+
+    /**
+     * Arrays at least this long are split across the pool by [convertToJalaliParallel].
+     */
+    const val PARALLEL_THRESHOLD: Int = 1 shl 14
+
+    /**
+     * Writes the packed Jalali date (see [JalaliDate]) of `millis[i]` to `outPackedYmd[i]` for
+     * every i in [[from], [to]).
+     */
+    @JvmStatic
+    @JvmOverloads
+    fun convertToJalali(
+        millis: LongArray,
+        outPackedYmd: IntArray,
+        zone: TimeZone = TimeZone.getDefault(),
+        from: Int = 0,
+        to: Int = millis.size
+    ) {
+        checkRange(millis.size, outPackedYmd.size, from, to)
+        val run = JalaliMonthRun()
+        for (i in from until to) {
+            outPackedYmd[i] = run.decode(localEpochDay(millis[i], zone))
+        }
+    }
+
+    /**
+     * Same as [convertToJalali], splitting arrays of [PARALLEL_THRESHOLD] values or more into
+     * chunks converted on [pool].
+     */
+    @JvmStatic
+    @JvmOverloads
+    fun convertToJalaliParallel(
+        millis: LongArray,
+        outPackedYmd: IntArray,
+        zone: TimeZone = TimeZone.getDefault(),
+        pool: ForkJoinPool = ForkJoinPool.commonPool()
+    ) {
+        checkRange(millis.size, outPackedYmd.size, 0, millis.size)
+        if (millis.size < PARALLEL_THRESHOLD) {
+            convertToJalali(millis, outPackedYmd, zone)
+            return
+        }
+        pool.invoke(ConvertAction(millis, outPackedYmd, zone, 0, millis.size))
+    }
+
+    /**
+     * Appends `yyyy/MM/dd` of every value in [millis] to [out], each followed by [separator].
+     * With [includeTime] the local time is added as ` HH:mm:ss`. Reusing [out] across calls
+     * avoids any per-value allocation.
+     */
+    @JvmStatic
+    @JvmOverloads
+    fun formatToJalali(
+        millis: LongArray,
+        out: StringBuilder,
+        zone: TimeZone = TimeZone.getDefault(),
+        separator: Char = '\n',
+        includeTime: Boolean = false
+    ): StringBuilder {
+        val run = JalaliMonthRun()
+        for (value in millis) {
+            val local = value + zone.getOffset(value)
+            val epochDay = JalaliCalendar.epochMillisToEpochDay(local)
+            appendJalali(run.decode(epochDay), out)
+            if (includeTime) {
+                val secondOfDay =
+                    ((local - JalaliCalendar.epochDayToEpochMillis(epochDay)) / 1000L).toInt()
+                out.append(' ')
+                appendTwoDigits(secondOfDay / 3600, out)
+                out.append(':')
+                appendTwoDigits(secondOfDay / 60 % 60, out)
+                out.append(':')
+                appendTwoDigits(secondOfDay % 60, out)
+            }
+            out.append(separator)
+        }
+        return out
+    }
+
+    /**
+     * Writes `yyyy/MM/dd` of every value in [millis] into [out], value i at offset
+     * `i * DATE_LENGTH`. Years must have four digits.
+     */
+    @JvmStatic
+    @JvmOverloads
+    fun formatToJalali(
+        millis: LongArray,
+        out: CharArray,
+        zone: TimeZone = TimeZone.getDefault()
+    ) {
+        require(out.size >= millis.size * DATE_LENGTH) { "output array is too small" }
+        val run = JalaliMonthRun()
+        var offset = 0
+        for (value in millis) {
+            val date = run.decode(localEpochDay(value, zone))
+            val year = JalaliCalendar.year(date)
+            require(year in 1000..9999) { "year $year does not have four digits" }
+            writeDigits(year, 4, out, offset)
+            out[offset + 4] = '/'
+            writeDigits(JalaliCalendar.month(date), 2, out, offset + 5)
+            out[offset + 7] = '/'
+            writeDigits(JalaliCalendar.day(date), 2, out, offset + 8)
+            offset += DATE_LENGTH
+        }
+    }
+
+    /**
+     * Appends [packed] as `yyyy/MM/dd` without creating intermediate strings.
+     */
+    @JvmStatic
+    fun appendJalali(packed: Int, out: StringBuilder): StringBuilder {
+        out.append(JalaliCalendar.year(packed)).append('/')
+        appendTwoDigits(JalaliCalendar.month(packed), out)
+        out.append('/')
+        appendTwoDigits(JalaliCalendar.day(packed), out)
+        return out
+    }
+
+    private fun localEpochDay(millis: Long, zone: TimeZone): Long {
+        return JalaliCalendar.epochMillisToEpochDay(millis + zone.getOffset(millis))
+    }
+
+    private fun appendTwoDigits(value: Int, out: StringBuilder) {
+        out.append(('0' + value / 10)).append(('0' + value % 10))
+    }
+
+    private fun writeDigits(value: Int, width: Int, out: CharArray, offset: Int) {
+        var v = value
+        for (i in offset + width - 1 downTo offset) {
+            out[i] = '0' + v % 10
+            v /= 10
+        }
+    }
+
+    private fun checkRange(inputSize: Int, outputSize: Int, from: Int, to: Int) {
+        require(from in 0..to && to <= inputSize) { "invalid range [$from, $to)" }
+        require(outputSize >= to) { "output array is too small" }
+    }
+
+    private class ConvertAction(
+        private val millis: LongArray,
+        private val out: IntArray,
+        private val zone: TimeZone,
+        private val from: Int,
+        private val to: Int
+    ) : RecursiveAction() {
+        override fun compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                convertToJalali(millis, out, zone, from, to)
+                return
+            }
+            val mid = (from + to) ushr 1
+            invokeAll(
+                ConvertAction(millis, out, zone, from, mid),
+                ConvertAction(millis, out, zone, mid, to)
+            )
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.masoud.persiandatetimepicker.utils
+
+/**
+ * Integer-only Jalali calendar arithmetic over epoch days (days since 1970-01-01).
+ *
+ * Leap years follow the 33-year arithmetic cycle the date picker has always used (1375 is the
+ * first leap year of a cycle, then every fourth year up to the 29th). Dates are exchanged as
+ * packed ints, `(year shl 16) or (month shl 8) or day` with a 1-based month, so conversions
+ * never box or allocate.
+ *
+ * Days of the years 1300 to 1500 are decomposed through the precomputed year starts of a
+ * [JalaliYearTable]; everything else falls back to the cycle arithmetic, which gives the same
+ * answers.
+ */
+object JalaliCalendar {
+    private const val CYCLE_YEARS = 33
+    private const val CYCLE_DAYS = 12053
+    private const val LEAP_GROUP_DAYS = 1461
+    private const val ANCHOR_YEAR = 1375
+
+    // 1 Farvardin 1375 = 1996-03-20
+    private const val ANCHOR_EPOCH_DAY = 9575L
+
+    // 1970-01-01 was a Thursday, which is the sixth day of the Persian week
+    private const val EPOCH_DAY_OF_WEEK = 5
+
+    /**
+     * The window of years served from a lookup table, the default range of the date picker.
+     */
+    private val yearTable: JalaliYearTable = JalaliYearTable(
+        JalaliYearTable.DEFAULT_FIRST_YEAR,
+        JalaliYearTable.DEFAULT_LAST_YEAR
+    )
+
+    /**
+     * Converts days since 1970-01-01 to a packed Jalali date.
+     */
+    @JvmStatic
+    fun epochDayToPackedJalali(epochDay: Long): Int {
+        val packed = yearTable.decode(epochDay)
+        return if (packed != JalaliYearTable.OUT_OF_RANGE) packed else computePackedJalali(epochDay)
+    }
+
+    /**
+     * Converts days since 1970-01-01 to a packed Jalali date with the cycle arithmetic alone.
+     */
+    @JvmStatic
+    fun computePackedJalali(epochDay: Long): Int {
+        val days = epochDay - ANCHOR_EPOCH_DAY
+        val cycle = Math.floorDiv(days, CYCLE_DAYS.toLong())
+        val dayOfCycle = (days - cycle * CYCLE_DAYS).toInt()
+        val group = dayOfCycle / LEAP_GROUP_DAYS
+        val dayOfGroup = dayOfCycle - group * LEAP_GROUP_DAYS
+        // The first year of each four-year group is the leap one
+        val yearOfGroup = if (dayOfGroup < 366) 0 else 1 + (dayOfGroup - 366) / 365
+        val dayOfYear = if (dayOfGroup < 366) dayOfGroup else (dayOfGroup - 366) % 365
+        val year = ANCHOR_YEAR + (cycle * CYCLE_YEARS).toInt() + group * 4 + yearOfGroup
+        return packDayOfYear(year, dayOfYear)
+    }
+
+    /**
+     * Converts a Jalali date (1-based month) to days since 1970-01-01. The fields are not
+     * validated; an overflowing day simply carries into the following days.
+     */
+    @JvmStatic
+    fun jalaliToEpochDay(year: Int, month: Int, day: Int): Long {
+        return firstDayOfYear(year) + daysBeforeMonth(month) + day - 1
+    }
+
+    /**
+     * Returns the epoch day of 1 Farvardin of [year].
+     */
+    @JvmStatic
+    fun firstDayOfYear(year: Int): Long {
+        val table = yearTable
+        return if (table.containsYear(year)) table.firstDayOfYear(year) else computeFirstDayOfYear(year)
+    }
+
+    /**
+     * Returns the epoch day of 1 Farvardin of [year] with the cycle arithmetic alone.
+     */
+    @JvmStatic
+    fun computeFirstDayOfYear(year: Int): Long {
+        val years = year - ANCHOR_YEAR
+        val cycle = Math.floorDiv(years, CYCLE_YEARS)
+        val yearOfCycle = years - cycle * CYCLE_YEARS
+        return ANCHOR_EPOCH_DAY + 365L * years + 8L * cycle + (yearOfCycle + 3) / 4
+    }
+
+    @JvmStatic
+    fun isLeapYear(year: Int): Boolean {
+        val table = yearTable
+        if (table.containsYear(year)) {
+            return table.isLeapYear(year)
+        }
+        val yearOfCycle = Math.floorMod(year - ANCHOR_YEAR, CYCLE_YEARS)
+        return yearOfCycle < 32 && (yearOfCycle and 3) == 0
+    }
+
+    /**
+     * Number of days in [month] (1-based) of [year].
+     */
+    @JvmStatic
+    fun monthLength(year: Int, month: Int): Int {
+        return when {
+            month <= 6 -> 31
+            month <= 11 -> 30
+            isLeapYear(year) -> 30
+            else -> 29
+        }
+    }
+
+    @JvmStatic
+    fun yearLength(year: Int): Int {
+        return if (isLeapYear(year)) 366 else 365
+    }
+
+    /**
+     * Number of days between 1 Farvardin and the first day of [month] (1-based).
+     */
+    @JvmStatic
+    fun daysBeforeMonth(month: Int): Int {
+        return if (month <= 7) 31 * (month - 1) else 30 * (month - 1) + 6
+    }
+
+    /**
+     * Packs the date that is [dayOfYear] (0-based) days after 1 Farvardin of [year].
+     */
+    @JvmStatic
+    fun packDayOfYear(year: Int, dayOfYear: Int): Int {
+        return if (dayOfYear < 186) {
+            pack(year, 1 + dayOfYear / 31, 1 + dayOfYear % 31)
+        } else {
+            pack(year, 7 + (dayOfYear - 186) / 30, 1 + (dayOfYear - 186) % 30)
+        }
+    }
+
+    /**
+     * Day of week of [epochDay], 0 = Saturday ... 6 = Friday.
+     */
+    @JvmStatic
+    fun dayOfWeek(epochDay: Long): Int {
+        return Math.floorMod(epochDay + EPOCH_DAY_OF_WEEK, 7L).toInt()
+    }
+
+    @JvmStatic
+    fun isValid(year: Int, month: Int, day: Int): Boolean {
+        return month in 1..12 && day >= 1 && day <= monthLength(year, month)
+    }
+
+    @JvmStatic
+    fun pack(year: Int, month: Int, day: Int): Int {
+        return (year shl 16) or (month shl 8) or day
+    }
+
+    @JvmStatic
+    fun year(packed: Int): Int {
+        return packed shr 16
+    }
+
+    @JvmStatic
+    fun month(packed: Int): Int {
+        return (packed shr 8) and 0xff
+    }
+
+    @JvmStatic
+    fun day(packed: Int): Int {
+        return packed and 0xff
+    }
+
+    @JvmStatic
+    fun packedToEpochDay(packed: Int): Long {
+        return jalaliToEpochDay(year(packed), month(packed), day(packed))
+    }
+
+    /**
+     * Returns the UTC day that contains [epochMillis].
+     */
+    @JvmStatic
+    fun epochMillisToEpochDay(epochMillis: Long): Long {
+        return Math.floorDiv(epochMillis, PersianCalendarConstants.MILLIS_OF_A_DAY)
+    }
+
+    @JvmStatic
+    fun epochDayToEpochMillis(epochDay: Long): Long {
+        return epochDay * PersianCalendarConstants.MILLIS_OF_A_DAY
+    }
+}
@@ -0,0 +1,212 @@
+package com.masoud.persiandatetimepicker.utils
+
+import com.masoud.persiandatetimepicker.utils.enums.GregorianDatePattern
+import com.masoud.persiandatetimepicker.utils.enums.PersianDatePattern
+import java.io.Writer
+import java.nio.CharBuffer
+import java.util.TimeZone
+import java.util.concurrent.Executor
+import java.util.concurrent.Future
+import java.util.concurrent.FutureTask
+
+/**
+ * Streams delimited text (CSV and the like) from a [Readable] to a [Writer], rewriting the
+ * Gregorian date fields laid out as [inputPattern] into Jalali dates laid out as [outputPattern].
+ * Other fields, quoting and line endings are copied as they are.
+ *
+ * Input is read in chunks of [CHUNK_SIZE] chars and written a record at a time, so memory is
+ * bounded by the longest record. Fields are scanned in place with [DateScanner] and printed
+ * with [JalaliFormatter], the same conversion as [getPersianDateTime] without its per-cell
+ * parser and strings. Quoted fields may contain delimiters, quotes (`""`) and line breaks.
+ *
+ * Instances hold no state between calls and can be shared.
+ */
+class JalaliCsvConverter @JvmOverloads constructor(
+    private val inputPattern: GregorianDatePattern,
+    private val outputPattern: PersianDatePattern,
+    /**
+     * 0-based index of the column to rewrite, or [ALL_COLUMNS] for every field that matches.
+     */
+    private val column: Int = ALL_COLUMNS,
+    private val inputZone: TimeZone = TimeZone.getTimeZone("UTC"),
+    private val outputZone: TimeZone = TimeZone.getDefault(),
+    private val delimiter: Char = ',',
+    /**
+     * Copies the first record as is.
+     */
+    private val skipHeader: Boolean = false
+) {
+    /**
+     * Called from the converting thread every [PROGRESS_INTERVAL] records and once at the end.
+     */
+    fun interface ProgressListener {
+        fun onProgress(records: Long, rewrittenFields: Long)
+    }
+
+    private val formatter: JalaliFormatter = JalaliFormatter.of(outputPattern)
+
+    /**
+     * Converts [input] into [output] and returns the number of records read. Neither is closed.
+     */
+    @JvmOverloads
+    fun convert(input: Readable, output: Writer, listener: ProgressListener? = null): Long {
+        val chunk = CharBuffer.allocate(CHUNK_SIZE)
+        val chars = chunk.array()
+        val record = StringBuilder()
+        val converted = StringBuilder()
+        // Quoting follows convertRecord: a quote opens only at the start of a field and closes
+        // on one not followed by another, so a stray quote inside a field is just a character
+        var inQuotes = false
+        var quoteClosed = false
+        var atFieldStart = true
+        var records = 0L
+        var rewritten = 0L
+
+        while (true) {
+            chunk.clear()
+            val count = input.read(chunk)
+            if (count < 0) break
+            var segmentStart = 0
+            for (i in 0 until count) {
+                val c = chars[i]
+                if (inQuotes) {
+                    // Closes unless the next char, maybe in the next chunk, makes it ""
+                    if (c == '"') {
+                        inQuotes = false
+                        quoteClosed = true
+                    }
+                    continue
+                }
+                if (c == '"') {
+                    inQuotes = atFieldStart || quoteClosed
+                    quoteClosed = false
+                    atFieldStart = false
+                    continue
+                }
+                quoteClosed = false
+                atFieldStart = c == delimiter || c == '\n'
+                if (c == '\n') {
+                    record.append(chars, segmentStart, i - segmentStart)
+                    segmentStart = i + 1
+                    rewritten += convertRecord(record, converted, copy = skipHeader && records == 0L)
+                    converted.append('\n')
+                    output.append(converted)
+                    record.setLength(0)
+                    records++
+                    if (listener != null && records % PROGRESS_INTERVAL == 0L) {
+                        listener.onProgress(records, rewritten)
+                    }
+                }
+            }
+            record.append(chars, segmentStart, count - segmentStart)
+        }
+        // The last record may not end with a line break
+        if (record.isNotEmpty()) {
+            rewritten += convertRecord(record, converted, copy = skipHeader && records == 0L)
+            output.append(converted)
+            records++
+        }
+        output.flush()
+        listener?.onProgress(records, rewritten)
+        return records
+    }
+
+    /**
+     * Runs [convert] on [executor]. The returned future yields the number of records read.
+     */
+    @JvmOverloads
+    fun convertAsync(
+        input: Readable,
+        output: Writer,
+        executor: Executor,
+        listener: ProgressListener? = null
+    ): Future<Long> {
+        val task = FutureTask { convert(input, output, listener) }
+        executor.execute(task)
+        return task
+    }
+
+    /**
+     * Writes [record], without its line break, to [out] with its date fields rewritten, and
+     * returns how many were.
+     */
+    private fun convertRecord(record: StringBuilder, out: StringBuilder, copy: Boolean): Int {
+        out.setLength(0)
+        var end = record.length
+        val carriageReturn = end > 0 && record[end - 1] == '\r'
+        if (carriageReturn) end--
+        if (copy) {
+            out.append(record)
+            return 0
+        }
+
+        var rewritten = 0
+        var fieldStart = 0
+        var index = 0
+        while (true) {
+            val quoted = fieldStart < end && record[fieldStart] == '"'
+            var fieldEnd = fieldStart
+            if (quoted) {
+                fieldEnd++
+                while (fieldEnd < end) {
+                    if (record[fieldEnd] == '"') {
+                        // "" is an escaped quote
+                        if (fieldEnd + 1 < end && record[fieldEnd + 1] == '"') {
+                            fieldEnd += 2
+                            continue
+                        }
+                        fieldEnd++
+                        break
+                    }
+                    fieldEnd++
+                }
+            }
+            while (fieldEnd < end && record[fieldEnd] != delimiter) {
+                fieldEnd++
+            }
+
+            if ((column == ALL_COLUMNS || column == index) &&
+                convertField(record, fieldStart, fieldEnd, quoted, out)
+            ) {
+                rewritten++
+            } else {
+                out.append(record, fieldStart, fieldEnd)
+            }
+            if (fieldEnd >= end) break
+            out.append(delimiter)
+            fieldStart = fieldEnd + 1
+            index++
+        }
+        if (carriageReturn) out.append('\r')
+        return rewritten
+    }
+
+    private fun convertField(
+        record: CharSequence,
+        start: Int,
+        end: Int,
+        quoted: Boolean,
+        out: StringBuilder
+    ): Boolean {
+        var from = start
+        var to = end
+        if (quoted) {
+            if (to - from < 2 || record[to - 1] != '"') return false
+            from++
+            to--
+        }
+        val result = DateScanner.scan(record, inputPattern, from, to)
+        if (!DateScanner.isValid(result)) return false
+
+        if (quoted) out.append('"')
+        formatter.formatTo(DateScanner.gregorianToEpochMillis(result, inputZone), out, outputZone)
+        if (quoted) out.append('"')
+        return true
+    }
+
+    companion object {
+        const val ALL_COLUMNS: Int = -1
+        const val CHUNK_SIZE: Int = 8192
+        const val PROGRESS_INTERVAL: Int = 1024
+    }
+}
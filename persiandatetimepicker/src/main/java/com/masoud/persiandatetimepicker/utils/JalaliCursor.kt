@@ -0,0 +1,76 @@
+package com.masoud.persiandatetimepicker.utils
+
+import java.util.TimeZone
+import java.util.stream.IntStream
+import java.util.stream.LongStream
+
+/**
+ * A stateful decoder for timestamps that arrive mostly in order, such as transaction logs or
+ * chart axes. It remembers the month of the last decoded day; a timestamp in the same month is
+ * one subtraction away and one up to [MAX_CARRY_DAYS] days past either end of it is reached by
+ * stepping whole months instead of a full conversion. Any other timestamp is converted from
+ * scratch.
+ *
+ * Each value is taken on its local day in [zone]. A cursor is not thread-safe; use one per
+ * pipeline.
+ */
+class JalaliCursor @JvmOverloads constructor(private val zone: TimeZone = TimeZone.getDefault()) {
+    private val run = JalaliMonthRun()
+
+    /**
+     * The packed Jalali date (see [JalaliDate]) of the last decoded value.
+     */
+    var packed: Int = 0
+        private set
+
+    /**
+     * Decodes [epochMillis] to a packed Jalali date.
+     */
+    fun decode(epochMillis: Long): Int {
+        return decodeEpochDay(
+            JalaliCalendar.epochMillisToEpochDay(epochMillis + zone.getOffset(epochMillis))
+        )
+    }
+
+    /**
+     * Decodes a day given as days since 1970-01-01 to a packed Jalali date.
+     */
+    fun decodeEpochDay(epochDay: Long): Int {
+        packed = run.decode(epochDay)
+        return packed
+    }
+
+    /**
+     * Forgets the last decoded day, so the next value is converted from scratch.
+     */
+    fun reset() {
+        run.reset()
+    }
+
+    companion object {
+        /**
+         * The farthest, in days, a value may fall outside the month of the last one and still be
+         * reached by stepping months instead of converted.
+         */
+        const val MAX_CARRY_DAYS: Int = 62
+
+        /**
+         * Maps [epochMillis] to packed Jalali dates through one cursor. The stream is made
+         * sequential, since the cursor carries state from one value to the next.
+         */
+        @JvmStatic
+        @JvmOverloads
+        fun decode(epochMillis: LongStream, zone: TimeZone = TimeZone.getDefault()): IntStream {
+            val cursor = JalaliCursor(zone)
+            return epochMillis.sequential().mapToInt { cursor.decode(it) }
+        }
+    }
+}
+
+/**
+ * Lazily maps these epoch millis to Jalali dates through one [JalaliCursor].
+ */
+fun Sequence<Long>.decodeJalali(zone: TimeZone = TimeZone.getDefault()): Sequence<JalaliDate> {
+    val cursor = JalaliCursor(zone)
+    return map { JalaliDate(cursor.decode(it)) }
+}
@@ -0,0 +1,90 @@
+package com.masoud.persiandatetimepicker.utils
+
+/**
+ * An immutable Jalali date packed into a single int (see [JalaliCalendar.pack]), so passing and
+ * adjusting dates never touches the heap. Months are 1-based.
+ *
+ * Java callers work on the packed value through [JalaliDates].
+ */
+@JvmInline
+value class JalaliDate(val packed: Int) : Comparable<JalaliDate> {
+    val year: Int
+        get() = JalaliCalendar.year(packed)
+
+    val month: Int
+        get() = JalaliCalendar.month(packed)
+
+    val day: Int
+        get() = JalaliCalendar.day(packed)
+
+    /**
+     * Days since 1970-01-01.
+     */
+    val epochDay: Long
+        get() = JalaliCalendar.packedToEpochDay(packed)
+
+    /**
+     * Day of week, 0 = Saturday ... 6 = Friday.
+     */
+    val dayOfWeek: Int
+        get() = JalaliCalendar.dayOfWeek(epochDay)
+
+    val lengthOfMonth: Int
+        get() = JalaliCalendar.monthLength(year, month)
+
+    val isLeapYear: Boolean
+        get() = JalaliCalendar.isLeapYear(year)
+
+    val monthName: String
+        get() = JalaliDates.monthName(packed)
+
+    val dayName: String
+        get() = JalaliDates.dayName(packed)
+
+    fun plusDays(days: Long): JalaliDate {
+        return JalaliDate(JalaliDates.plusDays(packed, days))
+    }
+
+    /**
+     * Adds [months], keeping the day unless the target month is shorter.
+     */
+    fun plusMonths(months: Int): JalaliDate {
+        return JalaliDate(JalaliDates.plusMonths(packed, months))
+    }
+
+    fun withDay(day: Int): JalaliDate {
+        return JalaliDate(JalaliDates.withDay(packed, day))
+    }
+
+    /**
+     * The UTC midnight that starts this date.
+     */
+    fun toEpochMillis(): Long {
+        return JalaliCalendar.epochDayToEpochMillis(epochDay)
+    }
+
+    override fun compareTo(other: JalaliDate): Int {
+        return packed.compareTo(other.packed)
+    }
+
+    override fun toString(): String {
+        return JalaliDates.toString(packed)
+    }
+
+    companion object {
+        fun of(year: Int, month: Int, day: Int): JalaliDate {
+            return JalaliDate(JalaliDates.of(year, month, day))
+        }
+
+        fun ofEpochDay(epochDay: Long): JalaliDate {
+            return JalaliDate(JalaliCalendar.epochDayToPackedJalali(epochDay))
+        }
+
+        /**
+         * The date of the UTC day that contains [epochMillis].
+         */
+        fun ofEpochMillis(epochMillis: Long): JalaliDate {
+            return JalaliDate(JalaliDates.ofEpochMillis(epochMillis))
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.masoud.persiandatetimepicker.utils
+
+/**
+ * Static counterparts of [JalaliDate] that work on the packed int, for Java callers.
+ */
+object JalaliDates {
+    @JvmStatic
+    fun of(year: Int, month: Int, day: Int): Int {
+        require(JalaliCalendar.isValid(year, month, day)) { "invalid jalali date: $year/$month/$day" }
+        return JalaliCalendar.pack(year, month, day)
+    }
+
+    @JvmStatic
+    fun ofEpochDay(epochDay: Long): Int {
+        return JalaliCalendar.epochDayToPackedJalali(epochDay)
+    }
+
+    @JvmStatic
+    fun ofEpochMillis(epochMillis: Long): Int {
+        return JalaliCalendar.epochDayToPackedJalali(JalaliCalendar.epochMillisToEpochDay(epochMillis))
+    }
+
+    @JvmStatic
+    fun toEpochDay(packed: Int): Long {
+        return JalaliCalendar.packedToEpochDay(packed)
+    }
+
+    @JvmStatic
+    fun toEpochMillis(packed: Int): Long {
+        return JalaliCalendar.epochDayToEpochMillis(JalaliCalendar.packedToEpochDay(packed))
+    }
+
+    @JvmStatic
+    fun year(packed: Int): Int {
+        return JalaliCalendar.year(packed)
+    }
+
+    @JvmStatic
+    fun month(packed: Int): Int {
+        return JalaliCalendar.month(packed)
+    }
+
+    @JvmStatic
+    fun day(packed: Int): Int {
+        return JalaliCalendar.day(packed)
+    }
+
+    @JvmStatic
+    fun dayOfWeek(packed: Int): Int {
+        return JalaliCalendar.dayOfWeek(JalaliCalendar.packedToEpochDay(packed))
+    }
+
+    @JvmStatic
+    fun lengthOfMonth(packed: Int): Int {
+        return JalaliCalendar.monthLength(JalaliCalendar.year(packed), JalaliCalendar.month(packed))
+    }
+
+    /**
+     * Persian name of the month, e.g. فروردین.
+     */
+    @JvmStatic
+    fun monthName(packed: Int): String {
+        return PersianCalendarConstants.persianMonthNames[JalaliCalendar.month(packed) - 1]!!
+    }
+
+    /**
+     * Persian name of the day of week, e.g. شنبه.
+     */
+    @JvmStatic
+    fun dayName(packed: Int): String {
+        return PersianCalendarConstants.persianWeekDays[dayOfWeek(packed)]!!
+    }
+
+    @JvmStatic
+    fun plusDays(packed: Int, days: Long): Int {
+        if (days == 0L) {
+            return packed
+        }
+        val day = JalaliCalendar.day(packed) + days
+        // Stay inside the month without a round trip through epoch days when possible
+        if (day >= 1 && day <= lengthOfMonth(packed)) {
+            return (packed and 0xff.inv()) or day.toInt()
+        }
+        return JalaliCalendar.epochDayToPackedJalali(JalaliCalendar.packedToEpochDay(packed) + days)
+    }
+
+    @JvmStatic
+    fun plusMonths(packed: Int, months: Int): Int {
+        if (months == 0) {
+            return packed
+        }
+        val monthIndex = JalaliCalendar.year(packed) * 12 + JalaliCalendar.month(packed) - 1 + months
+        val year = Math.floorDiv(monthIndex, 12)
+        val month = Math.floorMod(monthIndex, 12) + 1
+        val day = minOf(JalaliCalendar.day(packed), JalaliCalendar.monthLength(year, month))
+        return JalaliCalendar.pack(year, month, day)
+    }
+
+    @JvmStatic
+    fun withDay(packed: Int, day: Int): Int {
+        require(day >= 1 && day <= lengthOfMonth(packed)) { "invalid day of month: $day" }
+        return (packed and 0xff.inv()) or day
+    }
+
+    @JvmStatic
+    fun toString(packed: Int): String {
+        val month = JalaliCalendar.month(packed)
+        val day = JalaliCalendar.day(packed)
+        return JalaliCalendar.year(packed).toString() +
+                (if (month < 10) "/0" else "/") + month +
+                (if (day < 10) "/0" else "/") + day
+    }
+}
@@ -0,0 +1,21 @@
+package com.masoud.persiandatetimepicker.utils
+
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.flow
+import java.util.TimeZone
+
+/**
+ * Maps these epoch millis to Jalali dates through a [JalaliCursor], the [Flow] counterpart of
+ * [Sequence.decodeJalali]. Each collection gets its own cursor, so the flow may be collected
+ * more than once and concurrently.
+ *
+ * The library only compiles against kotlinx-coroutines, so this is for apps that already
+ * depend on it. It sits in its own file so [JalaliCursor] never loads the coroutine classes.
+ */
+fun Flow<Long>.decodeJalali(zone: TimeZone = TimeZone.getDefault()): Flow<JalaliDate> {
+    val upstream = this
+    return flow {
+        val cursor = JalaliCursor(zone)
+        upstream.collect { emit(JalaliDate(cursor.decode(it))) }
+    }
+}
@@ -0,0 +1,307 @@
+package com.masoud.persiandatetimepicker.utils
+
+import com.masoud.persiandatetimepicker.utils.enums.PersianDatePattern
+import java.util.TimeZone
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * A Jalali date formatter compiled once from its pattern into a list of field printers.
+ * Instances are immutable and can be shared between threads; [of] caches one per pattern.
+ *
+ * Two pattern grammars are understood, as in PersianDateFormat:
+ * - PHP-style single letters (the `Y/m/d  H:i:s` patterns): `Y` year, `y` two-digit year,
+ *   `m`/`n` month with/without padding, `F` month name, `d`/`j` day with/without padding,
+ *   `l` weekday name, `w` weekday number (0 = Saturday), `z` day of year (0-based), `t` days in
+ *   month, `H`/`G` hour with/without padding, `i` minute, `s` second, `a` ق.ظ/ب.ظ and
+ *   `A` قبل از ظهر/بعد از ظهر. `\` prints the next character as is.
+ * - Patterns containing `yyyy` use letter runs: `yyyy`, `yy`, `MMMM`, `MM`, `M`, `dd`, `d`,
+ *   `EEEE`, `HH`, `H`, `mm`, `m`, `ss`, `s` and `a`. Text in single quotes is printed as is.
+ *
+ * Any other character is printed as is. Numbers are printed with ASCII digits, or with Persian
+ * ones (U+06F0 to U+06F9) by a formatter from [withPersianDigits].
+ *
+ * PersianDateFormat knows more single letters than the above, such as its 12-hour clock and
+ * its Afghan and Kurdish month names. A PHP-style pattern using any other ASCII letter is
+ * flagged by [hasUnknownLetters], and [getPersianDateTime] formats it with PersianDateFormat
+ * instead.
+ */
+class JalaliFormatter private constructor(
+    /**
+     * The pattern this formatter was compiled from.
+     */
+    val pattern: String,
+    /**
+     * Whether numbers are printed with Persian digits.
+     */
+    val persianDigits: Boolean
+) {
+    // Each op is either a field code (< LITERAL) or LITERAL + index into literals
+    private val ops: IntArray
+    private val literals: Array<String>
+    private val zeroDigit: Char = if (persianDigits) PERSIAN_ZERO else '0'
+
+    /**
+     * Whether the pattern is PHP-style and has an unescaped ASCII letter this formatter does
+     * not know, which it would print as is.
+     */
+    internal val hasUnknownLetters: Boolean
+
+    init {
+        val compiler = Compiler(pattern)
+        ops = compiler.ops.toIntArray()
+        literals = compiler.literals.toTypedArray()
+        hasUnknownLetters = compiler.unknownLetters
+    }
+
+    /**
+     * Formats [epochMillis] as seen in [zone].
+     */
+    @JvmOverloads
+    fun format(epochMillis: Long, zone: TimeZone = TimeZone.getDefault()): String {
+        return formatTo(epochMillis, StringBuilder(pattern.length + 16), zone).toString()
+    }
+
+    /**
+     * Appends [epochMillis] as seen in [zone] to [out]. Nothing is allocated besides what [out]
+     * itself needs to grow.
+     */
+    @JvmOverloads
+    fun <A : Appendable> formatTo(
+        epochMillis: Long,
+        out: A,
+        zone: TimeZone = TimeZone.getDefault()
+    ): A {
+        val local = epochMillis + zone.getOffset(epochMillis)
+        val epochDay = JalaliCalendar.epochMillisToEpochDay(local)
+        val secondOfDay = ((local - JalaliCalendar.epochDayToEpochMillis(epochDay)) / 1000L).toInt()
+        val packed = JalaliCalendar.epochDayToPackedJalali(epochDay)
+        val year = JalaliCalendar.year(packed)
+        val month = JalaliCalendar.month(packed)
+        val day = JalaliCalendar.day(packed)
+        val hour = secondOfDay / 3600
+        for (op in ops) {
+            when (op) {
+                YEAR -> appendNumber(out, year, 1, zeroDigit)
+                YEAR_2 -> appendNumber(out, Math.floorMod(year, 100), 2, zeroDigit)
+                MONTH -> appendNumber(out, month, 1, zeroDigit)
+                MONTH_2 -> appendNumber(out, month, 2, zeroDigit)
+                MONTH_NAME -> out.append(PersianCalendarConstants.persianMonthNames[month - 1])
+                DAY -> appendNumber(out, day, 1, zeroDigit)
+                DAY_2 -> appendNumber(out, day, 2, zeroDigit)
+                DAY_NAME -> out.append(PersianCalendarConstants.persianWeekDays[JalaliCalendar.dayOfWeek(epochDay)])
+                DAY_OF_WEEK -> appendNumber(out, JalaliCalendar.dayOfWeek(epochDay), 1, zeroDigit)
+                DAY_OF_YEAR -> appendNumber(out, (epochDay - JalaliCalendar.firstDayOfYear(year)).toInt(), 1, zeroDigit)
+                MONTH_LENGTH -> appendNumber(out, JalaliCalendar.monthLength(year, month), 1, zeroDigit)
+                HOUR -> appendNumber(out, hour, 1, zeroDigit)
+                HOUR_2 -> appendNumber(out, hour, 2, zeroDigit)
+                MINUTE -> appendNumber(out, secondOfDay / 60 % 60, 1, zeroDigit)
+                MINUTE_2 -> appendNumber(out, secondOfDay / 60 % 60, 2, zeroDigit)
+                SECOND -> appendNumber(out, secondOfDay % 60, 1, zeroDigit)
+                SECOND_2 -> appendNumber(out, secondOfDay % 60, 2, zeroDigit)
+                AM_PM_SHORT -> out.append(if (hour < 12) AM_SHORT else PM_SHORT)
+                AM_PM_LONG -> out.append(if (hour < 12) AM_LONG else PM_LONG)
+                else -> out.append(literals[op - LITERAL])
+            }
+        }
+        return out
+    }
+
+    /**
+     * Returns the formatter of the same pattern printing Persian digits, or ASCII ones when
+     * [persianDigits] is false. The digits are written straight into the output, so both cost
+     * the same.
+     */
+    @JvmOverloads
+    fun withPersianDigits(persianDigits: Boolean = true): JalaliFormatter {
+        return if (persianDigits == this.persianDigits) this else of(pattern, persianDigits)
+    }
+
+    override fun toString(): String {
+        return if (persianDigits) "JalaliFormatter($pattern, persianDigits)" else "JalaliFormatter($pattern)"
+    }
+
+    /**
+     * Turns a pattern into ops, merging consecutive literal characters.
+     */
+    private class Compiler(pattern: String) {
+        val ops = ArrayList<Int>()
+        val literals = ArrayList<String>()
+        var unknownLetters = false
+        private val literal = StringBuilder()
+
+        init {
+            if (pattern.contains("yyyy")) compileLetterRuns(pattern) else compilePhpStyle(pattern)
+            flushLiteral()
+        }
+
+        private fun compilePhpStyle(pattern: String) {
+            var i = 0
+            while (i < pattern.length) {
+                val c = pattern[i]
+                if (c == '\\' && i + 1 < pattern.length) {
+                    literal.append(pattern[i + 1])
+                    i += 2
+                    continue
+                }
+                val field = when (c) {
+                    'Y' -> YEAR
+                    'y' -> YEAR_2
+                    'm' -> MONTH_2
+                    'n' -> MONTH
+                    'F' -> MONTH_NAME
+                    'd' -> DAY_2
+                    'j' -> DAY
+                    'l' -> DAY_NAME
+                    'w' -> DAY_OF_WEEK
+                    'z' -> DAY_OF_YEAR
+                    't' -> MONTH_LENGTH
+                    'H' -> HOUR_2
+                    'G' -> HOUR
+                    'i' -> MINUTE_2
+                    's' -> SECOND_2
+                    'a' -> AM_PM_SHORT
+                    'A' -> AM_PM_LONG
+                    else -> -1
+                }
+                if (field >= 0) {
+                    addField(field)
+                } else {
+                    if (c in 'a'..'z' || c in 'A'..'Z') unknownLetters = true
+                    literal.append(c)
+                }
+                i++
+            }
+        }
+
+        private fun compileLetterRuns(pattern: String) {
+            var i = 0
+            while (i < pattern.length) {
+                val c = pattern[i]
+                if (c == '\'') {
+                    val end = pattern.indexOf('\'', i + 1)
+                    if (end < 0) {
+                        literal.append(pattern, i + 1, pattern.length)
+                        return
+                    }
+                    // '' is a single quote
+                    if (end == i + 1) literal.append('\'') else literal.append(pattern, i + 1, end)
+                    i = end + 1
+                    continue
+                }
+                var run = 1
+                while (i + run < pattern.length && pattern[i + run] == c) {
+                    run++
+                }
+                val field = when (c) {
+                    'y' -> if (run == 2) YEAR_2 else YEAR
+                    'M' -> if (run >= 3) MONTH_NAME else if (run == 2) MONTH_2 else MONTH
+                    'd' -> if (run >= 2) DAY_2 else DAY
+                    'E' -> DAY_NAME
+                    'H' -> if (run >= 2) HOUR_2 else HOUR
+                    'm' -> if (run >= 2) MINUTE_2 else MINUTE
+                    's' -> if (run >= 2) SECOND_2 else SECOND
+                    'a' -> AM_PM_SHORT
+                    else -> -1
+                }
+                if (field < 0) literal.append(pattern, i, i + run) else addField(field)
+                i += run
+            }
+        }
+
+        private fun addField(field: Int) {
+            flushLiteral()
+            ops.add(field)
+        }
+
+        private fun flushLiteral() {
+            if (literal.isNotEmpty()) {
+                ops.add(LITERAL + literals.size)
+                literals.add(literal.toString())
+                literal.setLength(0)
+            }
+        }
+    }
+
+    companion object {
+        private const val YEAR = 0
+        private const val YEAR_2 = 1
+        private const val MONTH = 2
+        private const val MONTH_2 = 3
+        private const val MONTH_NAME = 4
+        private const val DAY = 5
+        private const val DAY_2 = 6
+        private const val DAY_NAME = 7
+        private const val DAY_OF_WEEK = 8
+        private const val DAY_OF_YEAR = 9
+        private const val MONTH_LENGTH = 10
+        private const val HOUR = 11
+        private const val HOUR_2 = 12
+        private const val MINUTE = 13
+        private const val MINUTE_2 = 14
+        private const val SECOND = 15
+        private const val SECOND_2 = 16
+        private const val AM_PM_SHORT = 17
+        private const val AM_PM_LONG = 18
+        private const val LITERAL = 32
+
+        private const val AM_SHORT = "ق.ظ"
+        private const val PM_SHORT = "ب.ظ"
+        private const val AM_LONG = "قبل از ظهر"
+        private const val PM_LONG = "بعد از ظهر"
+
+        private const val PERSIAN_ZERO = '\u06F0'
+
+        private val cache = ConcurrentHashMap<String, JalaliFormatter>()
+        private val persianCache = ConcurrentHashMap<String, JalaliFormatter>()
+
+        private val patterns: Array<JalaliFormatter> =
+            Array(PersianDatePattern.entries.size) { of(PersianDatePattern.entries[it].text) }
+
+        private val persianPatterns: Array<JalaliFormatter> =
+            Array(PersianDatePattern.entries.size) { of(PersianDatePattern.entries[it].text, true) }
+
+        /**
+         * Returns the compiled formatter of [pattern].
+         */
+        @JvmStatic
+        @JvmOverloads
+        fun of(pattern: PersianDatePattern, persianDigits: Boolean = false): JalaliFormatter {
+            return if (persianDigits) persianPatterns[pattern.ordinal] else patterns[pattern.ordinal]
+        }
+
+        /**
+         * Returns the compiled formatter of [pattern], compiling it on first use.
+         */
+        @JvmStatic
+        @JvmOverloads
+        fun of(pattern: String, persianDigits: Boolean = false): JalaliFormatter {
+            val formatters = if (persianDigits) persianCache else cache
+            return formatters[pattern] ?: formatters.getOrPut(pattern) { JalaliFormatter(pattern, persianDigits) }
+        }
+
+        /**
+         * Appends [value] in decimal, zero padded to [minWidth] digits, one char at a time, with
+         * the digits starting at [zero].
+         */
+        private fun appendNumber(out: Appendable, value: Int, minWidth: Int, zero: Char) {
+            var v = value
+            if (v < 0) {
+                out.append('-')
+                v = -v
+            }
+            var digits = 1
+            var divisor = 1
+            while (v / divisor >= 10) {
+                divisor *= 10
+                digits++
+            }
+            for (i in digits until minWidth) {
+                out.append(zero)
+            }
+            while (divisor > 0) {
+                out.append(zero + v / divisor % 10)
+                divisor /= 10
+            }
+        }
+    }
+}
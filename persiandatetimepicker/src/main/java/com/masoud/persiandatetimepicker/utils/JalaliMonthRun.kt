@@ -0,0 +1,63 @@
+package com.masoud.persiandatetimepicker.utils
+
+/**
+ * The Jalali month of the last decoded day, shared by the loops of [JalaliBulk] and by
+ * [JalaliCursor]. A day in the same month is one subtraction away; one up to
+ * [JalaliCursor.MAX_CARRY_DAYS] days past either end of it is reached by stepping whole months.
+ * Any other day is converted from scratch.
+ */
+internal class JalaliMonthRun {
+    private var year = 0
+    private var month = 0
+
+    // [monthStart, monthEnd) in epoch days, empty until the first day is decoded
+    private var monthStart = 0L
+    private var monthEnd = 0L
+
+    /**
+     * Decodes a day given as days since 1970-01-01 to a packed Jalali date.
+     */
+    fun decode(epochDay: Long): Int {
+        if (epochDay >= monthEnd || epochDay < monthStart) {
+            if (monthEnd > monthStart && epochDay >= monthEnd &&
+                epochDay - monthEnd < JalaliCursor.MAX_CARRY_DAYS
+            ) {
+                while (epochDay >= monthEnd) {
+                    if (++month > 12) {
+                        month = 1
+                        year++
+                    }
+                    monthStart = monthEnd
+                    monthEnd += JalaliCalendar.monthLength(year, month)
+                }
+            } else if (monthEnd > monthStart && epochDay < monthStart &&
+                monthStart - epochDay <= JalaliCursor.MAX_CARRY_DAYS
+            ) {
+                while (epochDay < monthStart) {
+                    if (--month < 1) {
+                        month = 12
+                        year--
+                    }
+                    monthEnd = monthStart
+                    monthStart -= JalaliCalendar.monthLength(year, month)
+                }
+            } else {
+                val packed = JalaliCalendar.epochDayToPackedJalali(epochDay)
+                year = JalaliCalendar.year(packed)
+                month = JalaliCalendar.month(packed)
+                monthStart = epochDay - JalaliCalendar.day(packed) + 1
+                monthEnd = monthStart + JalaliCalendar.monthLength(year, month)
+                return packed
+            }
+        }
+        return JalaliCalendar.pack(year, month, (epochDay - monthStart).toInt() + 1)
+    }
+
+    /**
+     * Forgets the month, so the next day is converted from scratch.
+     */
+    fun reset() {
+        monthStart = 0L
+        monthEnd = 0L
+    }
+}
@@ -0,0 +1,39 @@
+package com.masoud.persiandatetimepicker.utils
+
+/**
+ * Outcome of validating a typed Jalali date, see [JalaliParseResult.parse]. Invalid input is
+ * reported as a value instead of an exception, so it is cheap to check on every keystroke.
+ */
+sealed class JalaliParseResult {
+    /**
+     * A date that exists, as UTC midnight millis like the days of the date picker.
+     */
+    data class Valid(val millis: Long) : JalaliParseResult()
+
+    /**
+     * Text that does not follow the `year/month/day` layout; [position] is the index of the
+     * first offending char, or the length of the text when it ends too early.
+     */
+    data class InvalidFormat(val position: Int) : JalaliParseResult()
+
+    /**
+     * A well-formed date that does not exist, such as 1402/07/31 or a month past 12.
+     */
+    data object OutOfRange : JalaliParseResult()
+
+    companion object {
+        /**
+         * Parses [text] as a Jalali `year/month/day` date with fields separated by [delimiter].
+         */
+        @JvmStatic
+        @JvmOverloads
+        fun parse(text: CharSequence, delimiter: CharSequence = "/"): JalaliParseResult {
+            val result = DateScanner.scanJalaliDate(text, delimiter)
+            return when {
+                DateScanner.isValid(result) -> Valid(JalaliDates.toEpochMillis(DateScanner.date(result)))
+                result == DateScanner.OUT_OF_RANGE -> OutOfRange
+                else -> InvalidFormat(DateScanner.errorIndex(result))
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.masoud.persiandatetimepicker.utils
+
+/**
+ * Precomputed epoch days of 1 Farvardin for every year in `[firstYear, lastYear]`, so dates
+ * inside the window decompose with one array index instead of the cycle arithmetic of
+ * [JalaliCalendar]. Leap years are kept in a bitset.
+ */
+class JalaliYearTable(val firstYear: Int, val lastYear: Int) {
+    // One extra entry holds 1 Farvardin of lastYear + 1, which closes the last year
+    private val yearStarts: IntArray
+    private val leapYears: LongArray
+
+    init {
+        require(firstYear <= lastYear) { "firstYear cannot be after lastYear" }
+        val years = lastYear - firstYear + 1
+        yearStarts = IntArray(years + 1)
+        leapYears = LongArray((years + 63) ushr 6)
+        for (i in 0..years) {
+            yearStarts[i] = JalaliCalendar.computeFirstDayOfYear(firstYear + i).toInt()
+        }
+        for (i in 0 until years) {
+            if (yearStarts[i + 1] - yearStarts[i] == 366) {
+                leapYears[i ushr 6] = leapYears[i ushr 6] or (1L shl i)
+            }
+        }
+    }
+
+    /**
+     * Epoch day of the first day of the window.
+     */
+    val firstEpochDay: Long
+        get() = yearStarts[0].toLong()
+
+    /**
+     * Epoch day following the last day of the window.
+     */
+    val endEpochDay: Long
+        get() = yearStarts[yearStarts.size - 1].toLong()
+
+    fun containsYear(year: Int): Boolean {
+        return year in firstYear..lastYear
+    }
+
+    fun containsEpochDay(epochDay: Long): Boolean {
+        return epochDay >= firstEpochDay && epochDay < endEpochDay
+    }
+
+    /**
+     * Returns the epoch day of 1 Farvardin of [year], which must be inside the window.
+     */
+    fun firstDayOfYear(year: Int): Long {
+        return yearStarts[year - firstYear].toLong()
+    }
+
+    /**
+     * Returns whether [year], which must be inside the window, is a leap year.
+     */
+    fun isLeapYear(year: Int): Boolean {
+        val i = year - firstYear
+        return (leapYears[i ushr 6] and (1L shl i)) != 0L
+    }
+
+    /**
+     * Converts [epochDay] to a packed Jalali date, or returns [OUT_OF_RANGE] when the day is
+     * outside the window.
+     */
+    fun decode(epochDay: Long): Int {
+        if (!containsEpochDay(epochDay)) {
+            return OUT_OF_RANGE
+        }
+        val day = epochDay.toInt()
+        // 33 years span 12053 days, so the estimate is at most one year off
+        var i = (day - yearStarts[0]) * 33 / 12053
+        while (yearStarts[i] > day) {
+            i--
+        }
+        while (yearStarts[i + 1] <= day) {
+            i++
+        }
+        return JalaliCalendar.packDayOfYear(firstYear + i, day - yearStarts[i])
+    }
+
+    companion object {
+        /**
+         * Returned by [decode] for days outside the window. No valid date packs to 0.
+         */
+        const val OUT_OF_RANGE: Int = 0
+
+        /**
+         * The default window, matching the default range of the date picker.
+         */
+        const val DEFAULT_FIRST_YEAR: Int = 1300
+        const val DEFAULT_LAST_YEAR: Int = 1500
+    }
+}
@@ -3,18 +3,23 @@ package com.masoud.persiandatetimepicker.utils
 import java.io.Serial
 import java.util.GregorianCalendar
 import java.util.TimeZone
-import kotlin.math.floor
 
+/**
+ * A [GregorianCalendar] that also reads and sets its date in the Jalali calendar, with the same
+ * [JalaliCalendar] arithmetic as the picker and the formatters.
+ */
 class PersianCalendar : GregorianCalendar {
+    // Jalali fields of the UTC day cachedJulianDay, filled in lazily by ensurePersianDate()
     private var persianYear = 0
     private var persianMonth = 0
     private var persianDay = 0
+    private var cachedJulianDay = NO_JULIAN_DAY
     var delimiter: String = "/"
 
     private fun convertToMillis(julianDate: Long): Long {
-        return (PersianCalendarConstants.MILLIS_JULIAN_EPOCH + julianDate * PersianCalendarConstants.MILLIS_OF_A_DAY + PersianCalendarUtils.ceil(
-            (timeInMillis - PersianCalendarConstants.MILLIS_JULIAN_EPOCH).toDouble(),
-            PersianCalendarConstants.MILLIS_OF_A_DAY.toDouble()
+        return (PersianCalendarConstants.MILLIS_JULIAN_EPOCH + julianDate * PersianCalendarConstants.MILLIS_OF_A_DAY + Math.floorMod(
+            timeInMillis - PersianCalendarConstants.MILLIS_JULIAN_EPOCH,
+            PersianCalendarConstants.MILLIS_OF_A_DAY
         ))
     }
 
@@ -26,9 +31,28 @@ class PersianCalendar : GregorianCalendar {
         setTimeZone(TimeZone.getTimeZone("GMT"))
     }
 
-    private fun calculatePersianDate() {
+    /**
+     * Brings the Jalali fields up to date with the current time. Nothing is done while the time
+     * stays on the same day, and moves inside the same month only touch the day.
+     */
+    private fun ensurePersianDate() {
         val julianDate =
-            (floor((timeInMillis - PersianCalendarConstants.MILLIS_JULIAN_EPOCH).toDouble()).toLong() / PersianCalendarConstants.MILLIS_OF_A_DAY)
+            (timeInMillis - PersianCalendarConstants.MILLIS_JULIAN_EPOCH) / PersianCalendarConstants.MILLIS_OF_A_DAY
+        if (julianDate == cachedJulianDay) {
+            return
+        }
+        if (cachedJulianDay != NO_JULIAN_DAY) {
+            val day = persianDay + (julianDate - cachedJulianDay)
+            if (day >= 1 && day <= monthLength(persianYear, persianMonth)) {
+                persianDay = day.toInt()
+                cachedJulianDay = julianDate
+                return
+            }
+        }
+        calculatePersianDate(julianDate)
+    }
+
+    private fun calculatePersianDate(julianDate: Long) {
         val persianRowDate = PersianCalendarUtils.julianToPersian(julianDate)
         val year = persianRowDate shr 16
         val month = (persianRowDate and 0xff00L).toInt() shr 8
@@ -36,84 +60,94 @@ class PersianCalendar : GregorianCalendar {
         this.persianYear = (if (year > 0) year else year - 1).toInt()
         this.persianMonth = month
         this.persianDay = day
+        this.cachedJulianDay = julianDate
     }
 
     val isPersianLeapYear: Boolean
         get() =
-            PersianCalendarUtils.isPersianLeapYear(this.persianYear)
+            JalaliCalendar.isLeapYear(getPersianYear())
 
+    /**
+     * Sets the Jalali date, keeping the time of day. [persianMonth] is 0-based.
+     */
     fun setPersianDate(persianYear: Int, persianMonth: Int, persianDay: Int) {
-        var persianMonth = persianMonth
-        persianMonth += 1
-        this.persianYear = persianYear
-        this.persianMonth = persianMonth
-        this.persianDay = persianDay
+        val julianDate = toJulianDay(persianYear, persianMonth, persianDay)
+        setTimeInMillis(convertToMillis(julianDate))
+        cachePersianDate(julianDate, persianYear, persianMonth, persianDay)
+    }
+
+    /**
+     * Sets the Jalali date and the UTC time of day with a single conversion. [persianMonth] is
+     * 0-based.
+     */
+    fun setPersianDateTime(
+        persianYear: Int,
+        persianMonth: Int,
+        persianDay: Int,
+        hour: Int,
+        minute: Int,
+        second: Int
+    ) {
+        val julianDate = toJulianDay(persianYear, persianMonth, persianDay)
         setTimeInMillis(
-            convertToMillis(
-                PersianCalendarUtils.persianToJulian(
-                    (if (this.persianYear > 0) this.persianYear else this.persianYear + 1).toLong(),
-                    this.persianMonth - 1,
-                    this.persianDay
-                )
-            )
+            PersianCalendarConstants.MILLIS_JULIAN_EPOCH +
+                    julianDate * PersianCalendarConstants.MILLIS_OF_A_DAY +
+                    ((hour * 60L + minute) * 60L + second) * 1000L
         )
+        cachePersianDate(julianDate, persianYear, persianMonth, persianDay)
     }
 
     fun setPersianYear(persianYear: Int) {
-        this.persianMonth += 1
-        this.persianYear = persianYear
-        setTimeInMillis(
-            convertToMillis(
-                PersianCalendarUtils.persianToJulian(
-                    (if (this.persianYear > 0) this.persianYear else this.persianYear + 1).toLong(),
-                    this.persianMonth - 1,
-                    this.persianDay
-                )
-            )
-        )
+        setPersianDate(persianYear, getPersianMonth(), getPersianDay())
     }
 
     fun setPersianMonth(persianMonth: Int) {
-        var persianMonth = persianMonth
-        persianMonth += 1
-        this.persianMonth = persianMonth
-        setTimeInMillis(
-            convertToMillis(
-                PersianCalendarUtils.persianToJulian(
-                    (if (this.persianYear > 0) this.persianYear else this.persianYear + 1).toLong(),
-                    this.persianMonth - 1,
-                    1
-                )
-            )
-        )
+        setPersianDate(getPersianYear(), persianMonth, 1)
     }
 
     fun setPersianDay(persianDay: Int) {
-        this.persianMonth += 1
-        this.persianDay = persianDay
-        setTimeInMillis(
-            convertToMillis(
-                PersianCalendarUtils.persianToJulian(
-                    (if (this.persianYear > 0) this.persianYear else this.persianYear + 1).toLong(),
-                    this.persianMonth - 1,
-                    this.persianDay
-                )
-            )
+        setPersianDate(getPersianYear(), getPersianMonth(), persianDay)
+    }
+
+    private fun toJulianDay(persianYear: Int, persianMonth: Int, persianDay: Int): Long {
+        return PersianCalendarUtils.persianToJulian(
+            (if (persianYear > 0) persianYear else persianYear + 1).toLong(),
+            persianMonth,
+            persianDay
         )
     }
 
+    private fun cachePersianDate(julianDate: Long, persianYear: Int, persianMonth: Int, persianDay: Int) {
+        // Out of range fields carry into the next days; let ensurePersianDate() normalize those
+        if (persianMonth in 0..11 && persianDay >= 1 && persianDay <= monthLength(persianYear, persianMonth)) {
+            this.persianYear = persianYear
+            this.persianMonth = persianMonth
+            this.persianDay = persianDay
+            this.cachedJulianDay = julianDate
+        } else {
+            this.cachedJulianDay = NO_JULIAN_DAY
+        }
+    }
+
+    private fun monthLength(persianYear: Int, persianMonth: Int): Int {
+        return JalaliCalendar.monthLength(if (persianYear > 0) persianYear else persianYear + 1, persianMonth + 1)
+    }
+
     fun getPersianYear(): Int {
+        ensurePersianDate()
         return this.persianYear
     }
 
     fun getPersianMonth(): Int {
+        ensurePersianDate()
         return this.persianMonth
     }
 
     val persianMonthName: String?
-        get() = PersianCalendarConstants.persianMonthNames[this.persianMonth]
+        get() = PersianCalendarConstants.persianMonthNames[getPersianMonth()]
 
     fun getPersianDay(): Int {
+        ensurePersianDate()
         return this.persianDay
     }
 
@@ -129,7 +163,7 @@ class PersianCalendar : GregorianCalendar {
         }
 
     val persianLongDate: String
-        get() = this.persianWeekDayName + "  " + this.persianDay + "  " + this.persianMonthName + "  " + this.persianYear
+        get() = this.persianWeekDayName + "  " + getPersianDay() + "  " + this.persianMonthName + "  " + getPersianYear()
 
     val persianLongDateAndTime: String
         get() = this.persianLongDate + " ساعت " + get(HOUR_OF_DAY) + ":" + get(
@@ -138,13 +172,13 @@ class PersianCalendar : GregorianCalendar {
 
     val persianShortDate: String
         get() =// calculatePersianDate();
-            formatToMilitary(this.persianYear) + delimiter + formatToMilitary(getPersianMonth() + 1) + delimiter + formatToMilitary(
-                this.persianDay
+            formatToMilitary(getPersianYear()) + delimiter + formatToMilitary(getPersianMonth() + 1) + delimiter + formatToMilitary(
+                getPersianDay()
             )
 
     val persianShortDateTime: String
-        get() = (formatToMilitary(this.persianYear) + delimiter + formatToMilitary(getPersianMonth() + 1) + delimiter + formatToMilitary(
-            this.persianDay
+        get() = (formatToMilitary(getPersianYear()) + delimiter + formatToMilitary(getPersianMonth() + 1) + delimiter + formatToMilitary(
+            getPersianDay()
         ) + " " + formatToMilitary(this.get(HOUR_OF_DAY)) + ":" + formatToMilitary(
             get(MINUTE)
         )
@@ -162,18 +196,19 @@ class PersianCalendar : GregorianCalendar {
         require(!(field < 0 || field >= ZONE_OFFSET))
 
         if (field == YEAR) {
-            setPersianDate(this.persianYear + amount, getPersianMonth() + 1, this.persianDay)
+            setPersianDate(getPersianYear() + amount, getPersianMonth(), getPersianDay())
             return
         } else if (field == MONTH) {
+            // Months are 0-based, so the total splits straight into years and a month
+            val months = getPersianMonth() + amount
             setPersianDate(
-                this.persianYear + ((getPersianMonth() + 1 + amount) / 12),
-                (getPersianMonth() + 1 + amount) % 12,
-                this.persianDay
+                getPersianYear() + Math.floorDiv(months, 12),
+                Math.floorMod(months, 12),
+                getPersianDay()
             )
             return
         }
         add(field, amount)
-        calculatePersianDate()
     }
 
     fun addPersianDate1(field: Int, amount: Int) {
@@ -184,19 +219,18 @@ class PersianCalendar : GregorianCalendar {
         require(!(field < 0 || field >= ZONE_OFFSET))
 
         if (field == YEAR) {
-            setPersianDate(this.persianYear + amount, getPersianMonth() + 1, 1)
+            setPersianDate(getPersianYear() + amount, getPersianMonth(), 1)
             return
         } else if (field == MONTH) {
+            val months = getPersianMonth() + amount
             setPersianDate(
-                this.persianYear + ((getPersianMonth() + 1 + amount) / 12),
-                (getPersianMonth() + 1 + amount) % 12,
-                this.persianDay
+                getPersianYear() + Math.floorDiv(months, 12),
+                Math.floorMod(months, 12),
+                getPersianDay()
             )
 
             return
         }
-
-        calculatePersianDate()
     }
 
     fun parse(dateString: String?) {
@@ -217,26 +251,17 @@ class PersianCalendar : GregorianCalendar {
         return super.hashCode()
     }
 
-    override fun set(field: Int, value: Int) {
-        super.set(field, value)
-        calculatePersianDate()
-    }
-
-    override fun setTimeInMillis(millis: Long) {
-        super.setTimeInMillis(millis)
-        calculatePersianDate()
-    }
-
     @Suppress("WRONG_NULLABILITY_FOR_JAVA_OVERRIDE")
     override fun setTimeZone(zone: TimeZone?) {
         if (zone != null) {
             super.setTimeZone(zone)
         }
-        calculatePersianDate()
     }
 
     companion object {
         @Serial
         private const val serialVersionUID = 5541422440580682494L
+
+        private const val NO_JULIAN_DAY = Long.MIN_VALUE
     }
 }
\ No newline at end of file
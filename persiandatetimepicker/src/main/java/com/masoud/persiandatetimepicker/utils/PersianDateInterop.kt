@@ -0,0 +1,57 @@
+package com.masoud.persiandatetimepicker.utils
+
+import saman.zamani.persiandate.PersianDate
+import saman.zamani.persiandate.PersianDateFormat
+import java.util.Date
+
+/**
+ * Bridges the Jalali calendar kernel and samanzamani's [PersianDate] for callers that still
+ * exchange dates with that library. The picker itself no longer goes through [PersianDate].
+ *
+ * The library only compiles against PersianDate, so an app calling this object must declare
+ * `com.github.samanzamani:PersianDate` itself; without it the calls fail with a
+ * [NoClassDefFoundError].
+ */
+object PersianDateInterop {
+    /**
+     * Returns the packed Jalali date (see [JalaliDate]) of [persianDate].
+     */
+    @JvmStatic
+    fun toPackedJalali(persianDate: PersianDate): Int {
+        return JalaliDates.of(persianDate.shYear, persianDate.shMonth, persianDate.shDay)
+    }
+
+    fun toJalaliDate(persianDate: PersianDate): JalaliDate {
+        return JalaliDate(toPackedJalali(persianDate))
+    }
+
+    /**
+     * Returns a [PersianDate] on the same Jalali date. Its time of day is left as [PersianDate]
+     * sets it.
+     */
+    @JvmStatic
+    fun toPersianDate(packed: Int): PersianDate {
+        return PersianDate().initJalaliDate(
+            JalaliDates.year(packed),
+            JalaliDates.month(packed),
+            JalaliDates.day(packed)
+        )
+    }
+
+    fun toPersianDate(date: JalaliDate): PersianDate {
+        return toPersianDate(date.packed)
+    }
+
+    /**
+     * Formats [epochMillis] in the device zone with PersianDateFormat, for the patterns
+     * [JalaliFormatter] does not fully know. Returns `null` when PersianDate is not on the
+     * classpath.
+     */
+    internal fun format(epochMillis: Long, pattern: String): String? {
+        return try {
+            PersianDateFormat(pattern).format(PersianDate(Date(epochMillis)))
+        } catch (missing: NoClassDefFoundError) {
+            null
+        }
+    }
+}
@@ -11,10 +11,10 @@ class PersianDateParser private constructor(var dateString: String) {
         get() {
             checkDateStringInitialValidation()
 
-            val tokens: Array<String?>? = splitDateString(normalizeDateString(dateString)!!)
-            val year = tokens!![0]!!.toInt()
-            val month = tokens[1]!!.toInt()
-            val day = tokens[2]!!.toInt()
+            val date = scanDateString(dateString)
+            val year = JalaliCalendar.year(date)
+            val month = JalaliCalendar.month(date)
+            val day = JalaliCalendar.day(date)
 
             checkPersianDateValidation(year, month, day)
 
@@ -29,21 +29,18 @@ class PersianDateParser private constructor(var dateString: String) {
         if (month < 1 || month > 12) throw RuntimeException("month is not valid")
         if (day < 1 || day > 31) throw RuntimeException("day is not valid")
         if (month > 6 && day == 31) throw RuntimeException("day is not valid")
-        if (month == 12 && day == 30 && !PersianCalendarUtils.isPersianLeapYear(year)) throw RuntimeException(
+        if (month == 12 && day == 30 && !JalaliCalendar.isLeapYear(year)) throw RuntimeException(
             "day is not valid $year is not a leap year"
         )
     }
 
-    private fun normalizeDateString(dateString: String?): String? {
-        return dateString
-    }
-
-    private fun splitDateString(dateString: String): Array<String?> {
-        val tokens: Array<String?>? =
-            dateString.split(delimiter.toRegex()).dropLastWhile { it.isEmpty() }.toTypedArray()
-        if (tokens!!.size != 3) throw RuntimeException("wrong date:$dateString is not a Persian Date or can not be parsed")
+    private fun scanDateString(dateString: String): Int {
+        // Persian and Arabic-Indic digits are read as is; fields are range checked by
+        // checkPersianDateValidation, with its own messages
+        val result = DateScanner.scanJalaliDate(dateString, delimiter, 0, dateString.length, checkRange = false)
+        if (!DateScanner.isValid(result)) throw RuntimeException("wrong date:$dateString is not a Persian Date or can not be parsed")
 
-        return tokens
+        return DateScanner.date(result)
     }
 
     private fun checkDateStringInitialValidation() {
@@ -0,0 +1,116 @@
+package com.masoud.persiandatetimepicker.datepicker
+
+import org.junit.After
+import org.junit.Assert.assertArrayEquals
+import org.junit.Assert.assertEquals
+import org.junit.Test
+import java.time.Instant
+import java.time.ZoneOffset
+import java.util.Random
+import java.util.TimeZone
+import java.util.concurrent.Callable
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+
+class UtcDatesTest {
+    private val zones = ZONE_IDS.map { TimeZone.getTimeZone(it) }
+
+    // Random instants of 1900..2100 plus every hour around the 2024 Tehran and New York shifts
+    private val instants = LongArray(SAMPLES).also { instants ->
+        val random = Random(SEED)
+        for (i in instants.indices) {
+            instants[i] = FIRST_MILLIS + (random.nextDouble() * (LAST_MILLIS - FIRST_MILLIS)).toLong()
+        }
+        for (i in 0 until HOURS) {
+            instants[i] = MARCH_2024 + i * HOUR
+        }
+    }
+
+    @After
+    fun resetTimeSource() {
+        UtcDates.timeSource = null
+    }
+
+    @Test
+    fun canonicalDayIsTheZonedDate() {
+        for (zone in zones) {
+            for (instant in instants) {
+                val date = Instant.ofEpochMilli(instant).atZone(zone.toZoneId()).toLocalDate()
+                val expected = date.atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli()
+                assertEquals("${zone.id} $instant", expected, UtcDates.canonicalYearMonthDay(instant, zone))
+            }
+        }
+    }
+
+    @Test
+    fun concurrentCanonicalDaysMatchSingleThreaded() {
+        val expected = zones.map { zone -> canonicalDays(zone, 0) }
+        val results = runConcurrently { thread ->
+            // Each thread walks the inputs from a different start, so they interleave
+            zones.map { zone -> canonicalDays(zone, thread * SAMPLES / THREADS) }
+        }
+        for (result in results) {
+            for (i in zones.indices) {
+                assertArrayEquals(zones[i].id, expected[i], result[i])
+            }
+        }
+    }
+
+    @Test
+    fun concurrentTodayMatchesSingleThreaded() {
+        UtcDates.timeSource = TimeSource.fixed(MARCH_2024)
+        val expected = UtcDates.todayCanonical
+        assertEquals(UtcDates.canonicalYearMonthDay(MARCH_2024, TimeZone.getDefault()), expected)
+        val results = runConcurrently {
+            LongArray(SAMPLES) { UtcDates.todayCanonical }
+        }
+        for (result in results) {
+            assertArrayEquals(LongArray(SAMPLES) { expected }, result)
+        }
+    }
+
+    private fun canonicalDays(zone: TimeZone, start: Int): LongArray {
+        val days = LongArray(SAMPLES)
+        for (step in 0 until SAMPLES) {
+            val i = (start + step) % SAMPLES
+            days[i] = UtcDates.canonicalYearMonthDay(instants[i], zone)
+        }
+        return days
+    }
+
+    private fun <T> runConcurrently(task: (thread: Int) -> T): List<T> {
+        val executor = Executors.newFixedThreadPool(THREADS)
+        try {
+            val start = CountDownLatch(1)
+            val futures = (0 until THREADS).map { thread ->
+                executor.submit(Callable {
+                    start.await()
+                    task(thread)
+                })
+            }
+            start.countDown()
+            return futures.map { it.get(TIMEOUT_SECONDS, TimeUnit.SECONDS) }
+        } finally {
+            executor.shutdownNow()
+        }
+    }
+
+    private companion object {
+        val ZONE_IDS = listOf(
+            "UTC", UtcDates.TEHRAN, "America/New_York", "America/Los_Angeles", "Pacific/Kiritimati",
+            "Pacific/Pago_Pago", "Asia/Kolkata", "Australia/Lord_Howe"
+        )
+        const val THREADS = 8
+        const val SAMPLES = 20_000
+        const val SEED = 1403L
+        const val HOUR = 3_600_000L
+        const val HOURS = 24 * 60
+        const val TIMEOUT_SECONDS = 60L
+
+        // 1900-01-01, 2100-01-01 and 2024-03-01, all UTC
+        const val FIRST_MILLIS = -2_208_988_800_000L
+        const val LAST_MILLIS = 4_102_444_800_000L
+        const val MARCH_2024 = 1_709_251_200_000L
+    }
+}
@@ -0,0 +1,171 @@
+package com.masoud.persiandatetimepicker.utils
+
+import com.masoud.persiandatetimepicker.utils.enums.GregorianDatePattern
+import com.masoud.persiandatetimepicker.utils.enums.PersianDatePattern
+import com.masoud.persiandatetimepicker.utils.enums.TimeZones
+import org.junit.Assert.assertArrayEquals
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import java.text.SimpleDateFormat
+import java.util.Random
+import java.util.TimeZone
+
+/**
+ * The `*Result` conversions and [ConversionBatch] must say why a row failed and where, and agree
+ * with the nullable functions they sit next to on every row that converts.
+ */
+class ConversionResultTest {
+    @Test
+    fun dirtyRowsReportTheirErrorKindAndOffset() {
+        val results = DIRTY_ROWS.map { getPersianDateTimeResult(it, GregorianDatePattern.PATTERN_7) }
+        assertEquals(EXPECTED_OUTCOMES, results.map { outcome(it) })
+        for (result in results) {
+            assertEquals(result is ConversionResult.Success, result.isSuccess)
+            assertEquals(result is ConversionResult.Success, result.getOrNull() != null)
+        }
+    }
+
+    @Test
+    fun batchCountsEachOutcome() {
+        val batch = getPersianDateTimes(DIRTY_ROWS, GregorianDatePattern.PATTERN_7, PersianDatePattern.PATTERN_4)
+        assertEquals(DIRTY_ROWS.size, batch.size)
+        assertEquals(2, batch.succeeded)
+        assertEquals(3, batch.invalidFormat)
+        assertEquals(2, batch.outOfRange)
+        assertEquals(5, batch.failed)
+        assertArrayEquals(intArrayOf(2, 3, 4, 5, 6), batch.failedRows())
+        assertEquals(EXPECTED_OUTCOMES, batch.results.map { outcome(it) })
+        assertEquals(
+            JalaliFormatter.of(PersianDatePattern.PATTERN_4).format(MARCH_20_2024),
+            batch.valueAt(0)
+        )
+        assertNull(batch.valueAt(2))
+        assertEquals(
+            "ConversionBatch(size=7, succeeded=2, invalidFormat=3, outOfRange=2)",
+            batch.toString()
+        )
+    }
+
+    @Test
+    fun emptyBatchHasNoFailures() {
+        val batch = getPersianDateTimes(emptyList(), GregorianDatePattern.PATTERN_7)
+        assertEquals(0, batch.size)
+        assertEquals(0, batch.failed)
+        assertEquals(0, batch.failedRows().size)
+    }
+
+    @Test
+    fun otherResultVariantsReportFailuresAlike() {
+        assertEquals("OutOfRange", outcome(getDateResult("2024-02-30", GregorianDatePattern.PATTERN_7)))
+        assertEquals("InvalidFormat(7)", outcome(getDateResult("2024-02x30", GregorianDatePattern.PATTERN_7)))
+        assertEquals(
+            "OutOfRange",
+            outcome(convertDateFormatResult("2024-03-20 24:00:00", GregorianDatePattern.PATTERN_6))
+        )
+        assertEquals(
+            "InvalidFormat(16)",
+            outcome(convertDateFormatResult("2024-03-20 10:00", GregorianDatePattern.PATTERN_6))
+        )
+        assertEquals(
+            "OutOfRange",
+            outcome(getGregorianDateTimeResult("1404/12/30 10:00", PersianDatePattern.PATTERN_3))
+        )
+        assertEquals(
+            "InvalidFormat(10)",
+            outcome(getGregorianDateTimeResult("1403/12/30", PersianDatePattern.PATTERN_3))
+        )
+    }
+
+    @Test
+    fun jalaliParseResultReportsTheErrorKindAndOffset() {
+        assertEquals(
+            JalaliParseResult.Valid(JalaliDates.toEpochMillis(JalaliCalendar.pack(1403, 12, 30))),
+            JalaliParseResult.parse("1403/12/30")
+        )
+        assertEquals(JalaliParseResult.OutOfRange, JalaliParseResult.parse("1404/12/30"))
+        assertEquals(JalaliParseResult.OutOfRange, JalaliParseResult.parse("1403/13/01"))
+        // Ends too early: the position is the length of the text
+        assertEquals(JalaliParseResult.InvalidFormat(7), JalaliParseResult.parse("1403/01"))
+        assertEquals(JalaliParseResult.InvalidFormat(4), JalaliParseResult.parse("1403-01-01"))
+        assertEquals(JalaliParseResult.InvalidFormat(0), JalaliParseResult.parse(""))
+        assertEquals(JalaliParseResult.parse("1403-01-01", "-"), JalaliParseResult.parse("1403/01/01"))
+    }
+
+    @Test
+    fun resultVariantsMatchTheNullableFunctionsOnValidInput() {
+        val random = Random(SEED)
+        val defaultZone = TimeZone.getDefault()
+        TimeZone.setDefault(TimeZone.getTimeZone("Asia/Tehran"))
+        try {
+            for (pattern in GregorianDatePattern.entries) {
+                val format = SimpleDateFormat(pattern.text).apply { timeZone = TimeZone.getTimeZone("UTC") }
+                repeat(SAMPLES) {
+                    val millis = FIRST_MILLIS + (random.nextDouble() * (LAST_MILLIS - FIRST_MILLIS)).toLong()
+                    val text = format.format(millis)
+                    for (output in PersianDatePattern.entries) {
+                        val result = getPersianDateTimeResult(text, pattern, output)
+                        assertTrue("$pattern $text", result.isSuccess)
+                        assertEquals(
+                            "$pattern $text $output",
+                            getPersianDateTime(text, pattern.text, output.text),
+                            result.getOrNull()
+                        )
+                    }
+                    assertEquals("$pattern $text", getDate(text, pattern), getDateResult(text, pattern).getOrNull())
+                    assertEquals(
+                        "$pattern $text",
+                        convertDateFormat(text, pattern, GregorianDatePattern.PATTERN_5, TimeZones.ASIA_TEHRAN),
+                        convertDateFormatResult(text, pattern, GregorianDatePattern.PATTERN_5, TimeZones.ASIA_TEHRAN)
+                            .getOrNull()
+                    )
+                }
+            }
+            for (input in PersianDatePattern.entries) {
+                val formatter = JalaliFormatter.of(input)
+                repeat(SAMPLES) {
+                    val millis = FIRST_MILLIS + (random.nextDouble() * (LAST_MILLIS - FIRST_MILLIS)).toLong()
+                    val text = formatter.format(millis)
+                    for (adjust in listOf(false, true)) {
+                        val result = getGregorianDateTimeResult(text, input, GregorianDatePattern.PATTERN_1, adjust)
+                        assertTrue("$input $text", result.isSuccess)
+                        assertEquals(
+                            "$input $text",
+                            getGregorianDateTime(text, input, GregorianDatePattern.PATTERN_1, adjust),
+                            result.getOrNull()
+                        )
+                    }
+                }
+            }
+        } finally {
+            TimeZone.setDefault(defaultZone)
+        }
+    }
+
+    private fun outcome(result: ConversionResult<*>): String {
+        return when (result) {
+            is ConversionResult.Success -> "Success"
+            is ConversionResult.InvalidFormat -> "InvalidFormat(${result.position})"
+            ConversionResult.OutOfRange -> "OutOfRange"
+        }
+    }
+
+    private companion object {
+        const val SAMPLES = 300
+        const val SEED = 1403L
+
+        // 1900-01-01, 2100-01-01 and 2024-03-20, all UTC
+        const val FIRST_MILLIS = -2_208_988_800_000L
+        const val LAST_MILLIS = 4_102_444_800_000L
+        const val MARCH_20_2024 = 1_710_892_800_000L
+
+        val DIRTY_ROWS: List<CharSequence> = listOf(
+            "2024-03-20", "2024-3-2", "2024-02-30", "", "20240320", "2024-03-20x", "2024-13-01"
+        )
+        val EXPECTED_OUTCOMES = listOf(
+            "Success", "Success", "OutOfRange", "InvalidFormat(0)", "InvalidFormat(4)",
+            "InvalidFormat(10)", "OutOfRange"
+        )
+    }
+}
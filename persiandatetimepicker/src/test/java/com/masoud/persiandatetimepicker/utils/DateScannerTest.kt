@@ -0,0 +1,213 @@
+package com.masoud.persiandatetimepicker.utils
+
+import com.masoud.persiandatetimepicker.utils.enums.GregorianDatePattern
+import com.masoud.persiandatetimepicker.utils.enums.PersianDatePattern
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import java.text.SimpleDateFormat
+import java.util.Random
+import java.util.TimeZone
+
+class DateScannerTest {
+    private val utc = TimeZone.getTimeZone("UTC")
+
+    @Test
+    fun everyPersianLayoutScans() {
+        assertJalali("1403/01/02  03:04:05", PersianDatePattern.PATTERN_1, 1403, 1, 2, 3, 4, 5)
+        assertJalali("03:04 1403/01/02", PersianDatePattern.PATTERN_2, 1403, 1, 2, 3, 4, 0)
+        assertJalali("1403/01/02 03:04", PersianDatePattern.PATTERN_3, 1403, 1, 2, 3, 4, 0)
+        assertJalali("1403/01/02", PersianDatePattern.PATTERN_4, 1403, 1, 2, 0, 0, 0)
+        assertJalali("1403/01/02 03:04", PersianDatePattern.PATTERN_5, 1403, 1, 2, 3, 4, 0)
+        assertJalali("1403/01/02", PersianDatePattern.PATTERN_6, 1403, 1, 2, 0, 0, 0)
+        // Unpadded fields
+        assertJalali("1403/1/2  3:4:5", PersianDatePattern.PATTERN_1, 1403, 1, 2, 3, 4, 5)
+    }
+
+    @Test
+    fun persianLayoutsReadWhatTheFormatterPrints() {
+        val random = Random(SEED)
+        for (pattern in PersianDatePattern.entries) {
+            val formatter = JalaliFormatter.of(pattern)
+            repeat(SAMPLES) {
+                val millis = FIRST_MILLIS + (random.nextDouble() * (LAST_MILLIS - FIRST_MILLIS)).toLong()
+                val text = formatter.format(millis, utc)
+                val result = DateScanner.scan(text, pattern)
+                assertTrue("$pattern $text", DateScanner.isValid(result))
+                assertEquals("$pattern $text", text, formatter.format(DateScanner.jalaliToEpochMillis(result, utc), utc))
+            }
+        }
+    }
+
+    @Test
+    fun gregorianLayoutsMatchSimpleDateFormat() {
+        val random = Random(SEED)
+        for (pattern in GregorianDatePattern.entries) {
+            val format = SimpleDateFormat(pattern.text).apply {
+                timeZone = utc
+                isLenient = false
+            }
+            repeat(SAMPLES) {
+                val millis = FIRST_MILLIS + (random.nextDouble() * (LAST_MILLIS - FIRST_MILLIS)).toLong()
+                val text = format.format(millis)
+                val result = DateScanner.scan(text, pattern)
+                assertTrue("$pattern $text", DateScanner.isValid(result))
+                assertEquals("$pattern $text", format.parse(text)!!.time, DateScanner.gregorianToEpochMillis(result, utc))
+            }
+        }
+    }
+
+    @Test
+    fun leapDayExistsOnlyInLeapYears() {
+        assertJalali("1403/12/30", PersianDatePattern.PATTERN_4, 1403, 12, 30, 0, 0, 0)
+        assertEquals(DateScanner.OUT_OF_RANGE, DateScanner.scan("1404/12/30", PersianDatePattern.PATTERN_4))
+        assertEquals(DateScanner.OUT_OF_RANGE, DateScanner.scanJalaliDate("1404/12/30"))
+        assertEquals(DateScanner.OUT_OF_RANGE, DateScanner.scan("2023-02-29", GregorianDatePattern.PATTERN_7))
+        assertTrue(DateScanner.isValid(DateScanner.scan("2024-02-29", GregorianDatePattern.PATTERN_7)))
+    }
+
+    @Test
+    fun fieldsOutOfRangeAreNotFormatErrors() {
+        val outOfRange = listOf(
+            "1403/13/01" to PersianDatePattern.PATTERN_4,
+            "1403/00/01" to PersianDatePattern.PATTERN_4,
+            "1403/07/31" to PersianDatePattern.PATTERN_4,
+            "1403/01/01 24:00" to PersianDatePattern.PATTERN_5,
+            "1403/01/01 23:60" to PersianDatePattern.PATTERN_5,
+            "1403/01/01  23:59:60" to PersianDatePattern.PATTERN_1
+        )
+        for ((text, pattern) in outOfRange) {
+            val result = DateScanner.scan(text, pattern)
+            assertEquals(text, DateScanner.OUT_OF_RANGE, result)
+            assertFalse(text, DateScanner.isValid(result))
+            assertEquals(text, -1, DateScanner.errorIndex(result))
+        }
+        assertEquals(DateScanner.OUT_OF_RANGE, DateScanner.scan("24:00", GregorianDatePattern.PATTERN_3))
+        assertEquals(DateScanner.OUT_OF_RANGE, DateScanner.scan("2024-04-31", GregorianDatePattern.PATTERN_7))
+    }
+
+    @Test
+    fun formatErrorsPointAtTheFirstOffendingChar() {
+        assertErrorAt(0, "", GregorianDatePattern.PATTERN_7)
+        assertErrorAt(0, "x024-03-20", GregorianDatePattern.PATTERN_7)
+        assertErrorAt(7, "2024-03x20", GregorianDatePattern.PATTERN_7)
+        // A fifth year digit is where the separator should be
+        assertErrorAt(4, "20245-03-20", GregorianDatePattern.PATTERN_7)
+        assertErrorAt(10, "2024-03-20 ", GregorianDatePattern.PATTERN_7)
+        assertErrorAt(19, "2024-03-20T10:00:00", GregorianDatePattern.PATTERN_1)
+        assertErrorAt(11, "1403/01/01 03:04", PersianDatePattern.PATTERN_1)
+        assertErrorAt(8, "1403/01/", PersianDatePattern.PATTERN_4)
+
+        // Offsets count from the start of the text, not of the scanned range
+        val text = "id=7;2024-03x20;"
+        assertEquals(12, DateScanner.errorIndex(DateScanner.scan(text, GregorianDatePattern.PATTERN_7, 5, 15)))
+        assertEquals(4, DateScanner.errorIndex(DateScanner.scanJalaliDate("1403-01-01")))
+        assertEquals(9, DateScanner.errorIndex(DateScanner.scanJalaliDate("date 1403-01-01", "/", 5, 15)))
+    }
+
+    @Test
+    fun fractionalSecondsTakeOneToThreeDigits() {
+        // As SimpleDateFormat reads SSS: a count of milliseconds, not a decimal fraction
+        for (fraction in listOf("5", "05", "005", "12", "123")) {
+            val text = "2024-03-20 10:11:12.${fraction}Z"
+            val result = DateScanner.scan(text, GregorianDatePattern.PATTERN_5)
+            assertTrue(text, DateScanner.isValid(result))
+            assertEquals(text, (10 * 3600 + 11 * 60 + 12) * 1000 + fraction.toInt(), DateScanner.millisOfDay(result))
+        }
+        assertErrorAt(20, "2024-03-20 10:11:12.Z", GregorianDatePattern.PATTERN_5)
+        assertErrorAt(23, "2024-03-20 10:11:12.1234Z", GregorianDatePattern.PATTERN_5)
+    }
+
+    @Test
+    fun persianAndArabicIndicDigitsAreRead() {
+        val expected = DateScanner.scan("1403/12/30", PersianDatePattern.PATTERN_4)
+        assertEquals(expected, DateScanner.scan("۱۴۰۳/۱۲/۳۰", PersianDatePattern.PATTERN_4))
+        assertEquals(expected, DateScanner.scan("١٤٠٣/١٢/٣٠", PersianDatePattern.PATTERN_4))
+        assertEquals(expected, DateScanner.scan("۱۴0٣/12/۳٠", PersianDatePattern.PATTERN_4))
+        assertEquals(expected, DateScanner.scanJalaliDate("۱۴۰۳/۱۲/۳۰"))
+        assertEquals(
+            DateScanner.scan("2024-03-20T10:11:12Z", GregorianDatePattern.PATTERN_1),
+            DateScanner.scan("۲۰۲۴-۰۳-۲۰T۱۰:۱۱:۱۲Z", GregorianDatePattern.PATTERN_1)
+        )
+        // Other scripts are not digits
+        assertErrorAt(0, "०403/01/01", PersianDatePattern.PATTERN_4)
+    }
+
+    @Test
+    fun skippedAndRepeatedWallTimesResolveAsSimpleDateFormat() {
+        val newYork = TimeZone.getTimeZone("America/New_York")
+        val tehran = TimeZone.getTimeZone("Asia/Tehran")
+        // 02:30 does not exist on 2024-03-10; read with the offset before, -5:00
+        assertWall(newYork, "2024-03-10 02:30:00", 1_710_055_800_000L)
+        // 01:30 happens twice on 2024-11-03; the later, -5:00
+        assertWall(newYork, "2024-11-03 01:30:00", 1_730_615_400_000L)
+        // 00:30 does not exist on 2021-03-22 (1400/01/02); read with +3:30
+        assertWall(tehran, "2021-03-22 00:30:00", 1_616_360_400_000L)
+        // 23:30 happens twice on 2021-09-21 (1400/06/30); the later, +3:30
+        assertWall(tehran, "2021-09-21 23:30:00", 1_632_254_400_000L)
+        // Away from any shift
+        assertWall(tehran, "2024-03-20 10:00:00", 1_710_916_200_000L)
+
+        val skipped = DateScanner.scan("1400/01/02 00:30", PersianDatePattern.PATTERN_5)
+        assertEquals(1_616_360_400_000L, DateScanner.jalaliToEpochMillis(skipped, tehran))
+        val repeated = DateScanner.scan("1400/06/30 23:30", PersianDatePattern.PATTERN_5)
+        assertEquals(1_632_254_400_000L, DateScanner.jalaliToEpochMillis(repeated, tehran))
+    }
+
+    @Test
+    fun wallTimesAroundEveryShiftMatchSimpleDateFormat() {
+        for (zone in listOf(TimeZone.getTimeZone("America/New_York"), TimeZone.getTimeZone("Asia/Tehran"))) {
+            val format = SimpleDateFormat(GregorianDatePattern.PATTERN_6.text).apply { timeZone = zone }
+            val wall = SimpleDateFormat(GregorianDatePattern.PATTERN_6.text).apply { timeZone = utc }
+            // Every hour of 2008..2023
+            var millis = 1_199_145_600_000L
+            while (millis < 1_704_067_200_000L) {
+                val text = wall.format(millis)
+                assertEquals("${zone.id} $text", format.parse(text)!!.time, DateScanner.wallToEpochMillis(millis, zone))
+                millis += HOUR
+            }
+        }
+    }
+
+    private fun assertWall(zone: TimeZone, text: String, expected: Long) {
+        val result = DateScanner.scan(text, GregorianDatePattern.PATTERN_6)
+        assertEquals("${zone.id} $text", expected, DateScanner.gregorianToEpochMillis(result, zone))
+        val format = SimpleDateFormat(GregorianDatePattern.PATTERN_6.text).apply { timeZone = zone }
+        assertEquals("${zone.id} $text", format.parse(text)!!.time, expected)
+    }
+
+    private fun assertJalali(
+        text: String,
+        pattern: PersianDatePattern,
+        year: Int,
+        month: Int,
+        day: Int,
+        hour: Int,
+        minute: Int,
+        second: Int
+    ) {
+        val result = DateScanner.scan(text, pattern)
+        assertTrue("$pattern $text", DateScanner.isValid(result))
+        assertEquals("$pattern $text", JalaliCalendar.pack(year, month, day), DateScanner.date(result))
+        assertEquals("$pattern $text", ((hour * 60 + minute) * 60 + second) * 1000, DateScanner.millisOfDay(result))
+    }
+
+    private fun assertErrorAt(index: Int, text: String, pattern: PersianDatePattern) {
+        assertEquals("$pattern '$text'", index, DateScanner.errorIndex(DateScanner.scan(text, pattern)))
+    }
+
+    private fun assertErrorAt(index: Int, text: String, pattern: GregorianDatePattern) {
+        assertEquals("$pattern '$text'", index, DateScanner.errorIndex(DateScanner.scan(text, pattern)))
+    }
+
+    private companion object {
+        const val SAMPLES = 2_000
+        const val SEED = 1403L
+        const val HOUR = 3_600_000L
+
+        // 1900-01-01 and 2100-01-01, UTC
+        const val FIRST_MILLIS = -2_208_988_800_000L
+        const val LAST_MILLIS = 4_102_444_800_000L
+    }
+}
@@ -0,0 +1,71 @@
+package com.masoud.persiandatetimepicker.utils
+
+import com.masoud.persiandatetimepicker.utils.enums.GregorianDatePattern
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNotSame
+import org.junit.Assert.assertSame
+import org.junit.Test
+import java.text.SimpleDateFormat
+import java.util.TimeZone
+
+/**
+ * [GregorianFormatters] keeps the library patterns for good and only the recent other patterns,
+ * and formats as `SimpleDateFormat` did from 1582-10-15 on.
+ */
+class GregorianFormattersTest {
+    private val utc = TimeZone.getTimeZone("UTC")
+
+    @Test
+    fun libraryPatternsStayCached() {
+        val first = GregorianFormatters.of(GregorianDatePattern.PATTERN_7.text, utc)
+        fillWithOtherPatterns()
+        assertSame(first, GregorianFormatters.of(GregorianDatePattern.PATTERN_7.text, utc))
+    }
+
+    @Test
+    fun otherPatternsAreEvictedLeastRecentlyUsedFirst() {
+        val evicted = GregorianFormatters.of("'evicted' yyyy", utc)
+        val kept = GregorianFormatters.of("'kept' yyyy", utc)
+        repeat(GregorianFormatters.MAX_CACHED_PATTERNS - 1) {
+            GregorianFormatters.of("'other $it' yyyy", utc)
+            // Touched as it is used, so it never becomes the eldest
+            assertSame(kept, GregorianFormatters.of("'kept' yyyy", utc))
+        }
+        assertNotSame(evicted, GregorianFormatters.of("'evicted' yyyy", utc))
+    }
+
+    @Test
+    fun evictedPatternsStillFormat() {
+        fillWithOtherPatterns()
+        val format = SimpleDateFormat("yyyy.MM.dd HH:mm").apply { timeZone = utc }
+        assertEquals(format.format(MARCH_20_2024), GregorianFormatters.format(MARCH_20_2024, "yyyy.MM.dd HH:mm", utc))
+        assertEquals(MARCH_20_2024, GregorianFormatters.parseMillis("2024.03.20 00:00", "yyyy.MM.dd HH:mm", utc))
+    }
+
+    @Test
+    fun datesBeforeTheJulianSwitchAreProlepticGregorian() {
+        val format = SimpleDateFormat(GregorianDatePattern.PATTERN_7.text).apply { timeZone = utc }
+        assertEquals("1582-10-15", GregorianFormatters.format(GREGORIAN_START, GregorianDatePattern.PATTERN_7.text, utc))
+        assertEquals(format.format(GREGORIAN_START), "1582-10-15")
+        // SimpleDateFormat calls the day before 1582-10-04, the last Julian day
+        assertEquals(
+            "1582-10-14",
+            GregorianFormatters.format(GREGORIAN_START - DAY, GregorianDatePattern.PATTERN_7.text, utc)
+        )
+        assertEquals("1582-10-04", format.format(GREGORIAN_START - DAY))
+    }
+
+    private fun fillWithOtherPatterns() {
+        repeat(GregorianFormatters.MAX_CACHED_PATTERNS + 1) {
+            GregorianFormatters.of("'filler $it' yyyy", utc)
+        }
+    }
+
+    private companion object {
+        const val DAY = 86_400_000L
+
+        // 2024-03-20 and 1582-10-15, UTC
+        const val MARCH_20_2024 = 1_710_892_800_000L
+        const val GREGORIAN_START = -12_219_292_800_000L
+    }
+}
@@ -0,0 +1,132 @@
+package com.masoud.persiandatetimepicker.utils
+
+import kotlinx.coroutines.flow.asFlow
+import kotlinx.coroutines.flow.toList
+import kotlinx.coroutines.runBlocking
+import org.junit.Assert.assertArrayEquals
+import org.junit.Assert.assertEquals
+import org.junit.Test
+import java.util.Random
+import java.util.TimeZone
+
+/**
+ * [JalaliBulk] and [JalaliCursor] skip most conversions through the month of the previous value;
+ * whatever the order of the input they must give what one conversion per value gives.
+ */
+class JalaliBulkTest {
+    private val zone = TimeZone.getTimeZone("Asia/Tehran")
+
+    @Test
+    fun convertMatchesOneConversionPerValue() {
+        for (millis in inputs()) {
+            val packed = IntArray(millis.size)
+            JalaliBulk.convertToJalali(millis, packed, zone)
+            assertArrayEquals(expected(millis), packed)
+        }
+    }
+
+    @Test
+    fun convertParallelMatchesOneConversionPerValue() {
+        val millis = sorted(JalaliBulk.PARALLEL_THRESHOLD * 3)
+        val packed = IntArray(millis.size)
+        JalaliBulk.convertToJalaliParallel(millis, packed, zone)
+        assertArrayEquals(expected(millis), packed)
+    }
+
+    @Test
+    fun formatMatchesOneConversionPerValue() {
+        for (millis in inputs()) {
+            val dates = expected(millis).map { JalaliDates.toString(it) }
+
+            val builder = JalaliBulk.formatToJalali(millis, StringBuilder(), zone, ',')
+            assertEquals(dates.joinToString(",", postfix = ","), builder.toString())
+
+            val chars = CharArray(millis.size * JalaliBulk.DATE_LENGTH)
+            JalaliBulk.formatToJalali(millis, chars, zone)
+            assertEquals(dates.joinToString(""), String(chars))
+        }
+    }
+
+    @Test
+    fun cursorMatchesOneConversionPerValue() {
+        for (millis in inputs()) {
+            val cursor = JalaliCursor(zone)
+            val expected = expected(millis)
+            for (i in millis.indices) {
+                assertEquals(JalaliDates.toString(expected[i]), JalaliDates.toString(cursor.decode(millis[i])))
+                assertEquals(expected[i], cursor.packed)
+            }
+        }
+    }
+
+    @Test
+    fun sequenceAndFlowMatchOneConversionPerValue() {
+        for (millis in inputs()) {
+            val expected = expected(millis).map { JalaliDates.toString(it) }
+            assertEquals(expected, millis.asSequence().decodeJalali(zone).map { it.toString() }.toList())
+
+            val flow = millis.asList().asFlow().decodeJalali(zone)
+            // Twice, as each collection starts from a fresh cursor
+            repeat(2) {
+                assertEquals(expected, runBlocking { flow.toList() }.map { it.toString() })
+            }
+        }
+    }
+
+    @Test
+    fun cursorStepsThroughEveryDayBothWays() {
+        val first = JalaliCalendar.jalaliToEpochDay(1390, 1, 1)
+        val last = JalaliCalendar.jalaliToEpochDay(1420, 1, 1)
+        val cursor = JalaliCursor(zone)
+        for (epochDay in first..last) {
+            assertEquals(JalaliCalendar.epochDayToPackedJalali(epochDay), cursor.decodeEpochDay(epochDay))
+        }
+        for (epochDay in last downTo first) {
+            assertEquals(JalaliCalendar.epochDayToPackedJalali(epochDay), cursor.decodeEpochDay(epochDay))
+        }
+    }
+
+    private fun expected(millis: LongArray): IntArray {
+        return IntArray(millis.size) { JalaliDates.ofEpochMillis(millis[it] + zone.getOffset(millis[it])) }
+    }
+
+    // Sorted, reversed, shuffled and jumping input, the last crossing the carry limit both ways
+    private fun inputs(): List<LongArray> {
+        val random = Random(SEED)
+        val sorted = sorted(SIZE)
+        val reversed = sorted.reversedArray()
+        val shuffled = sorted.copyOf().also { array ->
+            for (i in array.indices.reversed()) {
+                val j = random.nextInt(i + 1)
+                array[i] = array[j].also { array[j] = array[i] }
+            }
+        }
+        val jumping = LongArray(SIZE)
+        var day = START_MILLIS
+        for (i in jumping.indices) {
+            day += (random.nextInt(4 * JalaliCursor.MAX_CARRY_DAYS) - 2 * JalaliCursor.MAX_CARRY_DAYS) * DAY +
+                random.nextInt(DAY.toInt())
+            jumping[i] = day
+        }
+        return listOf(sorted, reversed, shuffled, jumping)
+    }
+
+    private fun sorted(size: Int): LongArray {
+        val random = Random(SEED)
+        var millis = START_MILLIS
+        return LongArray(size) {
+            millis += random.nextInt(STEP_MILLIS)
+            millis
+        }
+    }
+
+    private companion object {
+        const val SIZE = 20_000
+        const val SEED = 1403L
+        const val DAY = 86_400_000L
+
+        // 2020-01-01 UTC, then up to 10 hours between values
+        const val START_MILLIS = 1_577_836_800_000L
+        const val STEP_MILLIS = 36_000_000
+    }
+}
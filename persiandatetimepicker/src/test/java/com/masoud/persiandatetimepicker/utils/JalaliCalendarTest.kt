@@ -0,0 +1,73 @@
+package com.masoud.persiandatetimepicker.utils
+
+import com.ibm.icu.util.TimeZone
+import org.junit.Assert.assertEquals
+import org.junit.Test
+import com.ibm.icu.util.PersianCalendar as IcuPersianCalendar
+
+@Suppress("DEPRECATION") // ICU still marks its PersianCalendar deprecated
+class JalaliCalendarTest {
+    private val firstDay = JalaliCalendar.jalaliToEpochDay(FIRST_YEAR, 1, 1)
+    private val lastDay = JalaliCalendar.jalaliToEpochDay(LAST_YEAR + 1, 1, 1) - 1
+
+    @Test
+    fun everyDayMatchesIcu() {
+        // ICU implements the same 33-year arithmetic cycle independently
+        val icu = IcuPersianCalendar(TimeZone.GMT_ZONE)
+        for (epochDay in firstDay..lastDay) {
+            icu.timeInMillis = JalaliCalendar.epochDayToEpochMillis(epochDay)
+            val expected = JalaliCalendar.pack(
+                icu.get(IcuPersianCalendar.EXTENDED_YEAR),
+                icu.get(IcuPersianCalendar.MONTH) + 1,
+                icu.get(IcuPersianCalendar.DAY_OF_MONTH)
+            )
+            assertPacked("epoch day $epochDay", expected, JalaliCalendar.epochDayToPackedJalali(epochDay))
+            assertPacked("epoch day $epochDay", expected, JalaliCalendar.computePackedJalali(epochDay))
+        }
+    }
+
+    @Test
+    fun everyDateRoundTrips() {
+        var expectedDay = firstDay
+        for (year in FIRST_YEAR..LAST_YEAR) {
+            assertEquals("year $year", expectedDay, JalaliCalendar.firstDayOfYear(year))
+            assertEquals("year $year", expectedDay, JalaliCalendar.computeFirstDayOfYear(year))
+            for (month in 1..12) {
+                for (day in 1..JalaliCalendar.monthLength(year, month)) {
+                    val packed = JalaliCalendar.pack(year, month, day)
+                    assertEquals("$year/$month/$day", expectedDay, JalaliCalendar.jalaliToEpochDay(year, month, day))
+                    assertPacked("$year/$month/$day", packed, JalaliCalendar.epochDayToPackedJalali(expectedDay))
+                    expectedDay++
+                }
+            }
+            assertEquals("year $year", JalaliCalendar.yearLength(year).toLong(), expectedDay - JalaliCalendar.firstDayOfYear(year))
+        }
+    }
+
+    @Test
+    fun yearStartsMatchTheOfficialCalendar() {
+        // Nowruz 1403, 1404 and 1405: 2024-03-20, 2025-03-21 and 2026-03-21
+        assertEquals(19802L, JalaliCalendar.firstDayOfYear(1403))
+        assertEquals(20168L, JalaliCalendar.firstDayOfYear(1404))
+        assertEquals(20533L, JalaliCalendar.firstDayOfYear(1405))
+    }
+
+    @Test
+    fun dayOfWeekStartsOnSaturday() {
+        // 1970-01-01 was a Thursday
+        assertEquals(5, JalaliCalendar.dayOfWeek(0L))
+        assertEquals(0, JalaliCalendar.dayOfWeek(2L))
+        assertEquals(6, JalaliCalendar.dayOfWeek(-6L))
+    }
+
+    private fun assertPacked(message: String, expected: Int, actual: Int) {
+        if (expected != actual) {
+            assertEquals(message, JalaliDates.toString(expected), JalaliDates.toString(actual))
+        }
+    }
+
+    private companion object {
+        const val FIRST_YEAR = 1
+        const val LAST_YEAR = 3000
+    }
+}
@@ -0,0 +1,108 @@
+package com.masoud.persiandatetimepicker.utils
+
+import com.masoud.persiandatetimepicker.utils.enums.GregorianDatePattern
+import com.masoud.persiandatetimepicker.utils.enums.PersianDatePattern
+import org.junit.Assert.assertEquals
+import org.junit.Test
+import java.io.StringReader
+import java.io.StringWriter
+import java.nio.CharBuffer
+import java.util.TimeZone
+
+class JalaliCsvConverterTest {
+    private val converter = JalaliCsvConverter(
+        GregorianDatePattern.PATTERN_1, PersianDatePattern.PATTERN_4,
+        outputZone = TimeZone.getTimeZone("UTC")
+    )
+
+    @Test
+    fun rewritesDateFieldsAndCopiesTheRest() {
+        assertConverts(
+            "a,$DATE,b\n$DATE,x\n",
+            "a,$JALALI,b\n$JALALI,x\n",
+            records = 2
+        )
+    }
+
+    @Test
+    fun strayQuoteInAnUnquotedFieldIsAPlainCharacter() {
+        // The quote must not swallow the line breaks after it
+        assertConverts(
+            "5\" screen,$DATE\n12\" screen,$DATE\n$DATE\n",
+            "5\" screen,$JALALI\n12\" screen,$JALALI\n$JALALI\n",
+            records = 3
+        )
+    }
+
+    @Test
+    fun quotedFieldsKeepDelimitersEscapesAndLineBreaks() {
+        assertConverts(
+            "\"a,\"\"b\"\"\nc\",\"$DATE\"\n\"\"\"\",$DATE\n",
+            "\"a,\"\"b\"\"\nc\",\"$JALALI\"\n\"\"\"\",$JALALI\n",
+            records = 2
+        )
+    }
+
+    @Test
+    fun crlfLineEndingsAreKept() {
+        assertConverts(
+            "a,$DATE\r\n$DATE\r\n$DATE",
+            "a,$JALALI\r\n$JALALI\r\n$JALALI",
+            records = 3
+        )
+    }
+
+    @Test
+    fun headerIsCopiedWhenSkipped() {
+        val skipping = JalaliCsvConverter(
+            GregorianDatePattern.PATTERN_1, PersianDatePattern.PATTERN_4,
+            outputZone = TimeZone.getTimeZone("UTC"), skipHeader = true
+        )
+        assertConverts(
+            "$DATE,\"head\ner\"\n$DATE,b\n",
+            "$DATE,\"head\ner\"\n$JALALI,b\n",
+            records = 2,
+            converter = skipping
+        )
+    }
+
+    @Test
+    fun onlyTheChosenColumnIsRewritten() {
+        val second = JalaliCsvConverter(
+            GregorianDatePattern.PATTERN_1, PersianDatePattern.PATTERN_4,
+            column = 1, outputZone = TimeZone.getTimeZone("UTC")
+        )
+        assertConverts("$DATE,$DATE\n", "$DATE,$JALALI\n", records = 1, converter = second)
+    }
+
+    private fun assertConverts(
+        input: String,
+        expected: String,
+        records: Long,
+        converter: JalaliCsvConverter = this.converter
+    ) {
+        val output = StringWriter()
+        assertEquals(records, converter.convert(StringReader(input), output))
+        assertEquals(expected, output.toString())
+
+        // One char per read, so quotes and "" escapes straddle every chunk boundary
+        val trickled = StringWriter()
+        assertEquals(records, converter.convert(OneCharReadable(input), trickled))
+        assertEquals(expected, trickled.toString())
+    }
+
+    private class OneCharReadable(private val text: String) : Readable {
+        private var position = 0
+
+        override fun read(buffer: CharBuffer): Int {
+            if (position == text.length) return -1
+            buffer.put(text[position++])
+            return 1
+        }
+    }
+
+    private companion object {
+        const val DATE = "2024-03-20T00:00:00Z"
+        const val JALALI = "1403/01/01"
+    }
+}
@@ -0,0 +1,127 @@
+package com.masoud.persiandatetimepicker.utils
+
+import com.masoud.persiandatetimepicker.utils.enums.GregorianDatePattern
+import com.masoud.persiandatetimepicker.utils.enums.PersianDatePattern
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+import saman.zamani.persiandate.PersianDate
+import saman.zamani.persiandate.PersianDateFormat
+import java.text.SimpleDateFormat
+import java.util.Date
+import java.util.Locale
+import java.util.Random
+import java.util.TimeZone
+
+/**
+ * [JalaliFormatter] replaced PersianDateFormat in [getPersianDateTime]; every pattern must print
+ * what PersianDate printed.
+ */
+class JalaliFormatterTest {
+    private val defaultZone = TimeZone.getDefault()
+
+    // PersianDate reads the device zone
+    @Before
+    fun useTehran() {
+        TimeZone.setDefault(TimeZone.getTimeZone("Asia/Tehran"))
+    }
+
+    @After
+    fun restoreDefaultZone() {
+        TimeZone.setDefault(defaultZone)
+    }
+
+    @Test
+    fun everyPatternMatchesPersianDate() {
+        for (pattern in PersianDatePattern.entries) {
+            val formatter = JalaliFormatter.of(pattern)
+            assertFalse("$pattern", formatter.hasUnknownLetters)
+            for (millis in instants()) {
+                val persianDate = PersianDate(Date(millis))
+                assertEquals("$pattern $millis", expected(pattern, persianDate), formatter.format(millis))
+            }
+        }
+    }
+
+    @Test
+    fun getPersianDateTimeMatchesPersianDateFormat() {
+        val input = SimpleDateFormat(GregorianDatePattern.PATTERN_1.text, Locale.ENGLISH).apply {
+            timeZone = TimeZone.getTimeZone("UTC")
+        }
+        // The patterns of the library, then letters only PersianDateFormat knows, which it must
+        // still format
+        val patterns = PersianDatePattern.entries.filter { !it.text.contains("yyyy") }.map { it.text } +
+            listOf("Y/m/d g", "L", "X C E P Q R")
+        for (pattern in patterns) {
+            for (millis in instants()) {
+                val text = input.format(Date(millis))
+                // Whole seconds, as PATTERN_1 keeps
+                val seconds = millis - Math.floorMod(millis, 1000L)
+                assertEquals(
+                    "$pattern $text",
+                    PersianDateFormat(pattern).format(PersianDate(Date(seconds))),
+                    getPersianDateTime(text, GregorianDatePattern.PATTERN_1.text, pattern)
+                )
+            }
+        }
+    }
+
+    @Test
+    fun unknownLettersAreFlagged() {
+        assertTrue(JalaliFormatter.of("Y/m/d g").hasUnknownLetters)
+        assertTrue(JalaliFormatter.of("X").hasUnknownLetters)
+        assertFalse(JalaliFormatter.of("Y/m/d \\g").hasUnknownLetters)
+        assertFalse(JalaliFormatter.of("Y-m-d H:i:s").hasUnknownLetters)
+        // Letter runs leave unknown letters as they are, as no other formatter reads them
+        assertFalse(JalaliFormatter.of("yyyy/MM/dd 'T' QQ").hasUnknownLetters)
+    }
+
+    @Test
+    fun persianDigitsOnlyChangeTheDigits() {
+        for (pattern in PersianDatePattern.entries) {
+            for (millis in instants()) {
+                val ascii = JalaliFormatter.of(pattern).format(millis)
+                val persian = JalaliFormatter.of(pattern, persianDigits = true).format(millis)
+                assertEquals(ascii, persian.map { if (it in '۰'..'۹') '0' + (it - '۰') else it }.joinToString(""))
+            }
+        }
+        assertEquals("۱۴۰۳/۰۱/۰۱", JalaliFormatter.of(PersianDatePattern.PATTERN_4, true).format(NOWRUZ_1403))
+    }
+
+    private fun expected(pattern: PersianDatePattern, date: PersianDate): String {
+        val year = date.shYear
+        val month = "%02d".format(date.shMonth)
+        val day = "%02d".format(date.shDay)
+        val hour = "%02d".format(date.hour)
+        val minute = "%02d".format(date.minute)
+        return when (pattern) {
+            // PersianDateFormat prints only its single letters, so the yyyy layouts are built from
+            // the fields of the same PersianDate
+            PersianDatePattern.PATTERN_3 -> "$year/$month/$day $hour:$minute"
+            PersianDatePattern.PATTERN_6 -> "$year/$month/$day"
+            else -> PersianDateFormat(pattern.text).format(date)
+        }
+    }
+
+    private fun instants(): LongArray {
+        val random = Random(SEED)
+        return LongArray(SAMPLES) {
+            FIRST_MILLIS + (random.nextDouble() * (LAST_MILLIS - FIRST_MILLIS)).toLong()
+        }
+    }
+
+    private companion object {
+        const val SAMPLES = 2_000
+        const val SEED = 1403L
+
+        // 1950-01-01 and 2050-01-01, UTC
+        const val FIRST_MILLIS = -631_152_000_000L
+        const val LAST_MILLIS = 2_524_608_000_000L
+
+        // 1403/01/01 00:00 in Tehran
+        const val NOWRUZ_1403 = 1_710_880_200_000L
+    }
+}
@@ -0,0 +1,50 @@
+package com.masoud.persiandatetimepicker.utils
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class JalaliYearTableTest {
+    private val table = JalaliYearTable(JalaliYearTable.DEFAULT_FIRST_YEAR, JalaliYearTable.DEFAULT_LAST_YEAR)
+
+    @Test
+    fun everyDayInTheWindowMatchesTheArithmetic() {
+        assertEquals(JalaliCalendar.computeFirstDayOfYear(table.firstYear), table.firstEpochDay)
+        assertEquals(JalaliCalendar.computeFirstDayOfYear(table.lastYear + 1), table.endEpochDay)
+        for (epochDay in table.firstEpochDay until table.endEpochDay) {
+            assertTrue(table.containsEpochDay(epochDay))
+            val expected = JalaliCalendar.computePackedJalali(epochDay)
+            val actual = table.decode(epochDay)
+            if (expected != actual) {
+                assertEquals("epoch day $epochDay", JalaliDates.toString(expected), JalaliDates.toString(actual))
+            }
+        }
+    }
+
+    @Test
+    fun everyYearInTheWindowMatchesTheArithmetic() {
+        for (year in table.firstYear..table.lastYear) {
+            assertTrue(table.containsYear(year))
+            assertEquals("year $year", JalaliCalendar.computeFirstDayOfYear(year), table.firstDayOfYear(year))
+            val length = JalaliCalendar.computeFirstDayOfYear(year + 1) - JalaliCalendar.computeFirstDayOfYear(year)
+            assertEquals("year $year", length == 366L, table.isLeapYear(year))
+        }
+    }
+
+    @Test
+    fun daysOutsideTheWindowAreNotDecoded() {
+        assertFalse(table.containsYear(table.firstYear - 1))
+        assertFalse(table.containsYear(table.lastYear + 1))
+        assertEquals(JalaliYearTable.OUT_OF_RANGE, table.decode(table.firstEpochDay - 1))
+        assertEquals(JalaliYearTable.OUT_OF_RANGE, table.decode(table.endEpochDay))
+    }
+
+    @Test
+    fun singleYearWindow() {
+        val single = JalaliYearTable(1403, 1403)
+        assertEquals(366L, single.endEpochDay - single.firstEpochDay)
+        assertTrue(single.isLeapYear(1403))
+        assertEquals(JalaliCalendar.pack(1403, 12, 30), single.decode(single.endEpochDay - 1))
+    }
+}
@@ -0,0 +1,228 @@
+package com.masoud.persiandatetimepicker.utils
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import java.util.Calendar
+import java.util.Random
+
+/**
+ * [PersianCalendar], [PersianCalendarUtils] and the parser must agree with [JalaliCalendar], the
+ * calendar of the picker and the formatters, on every day.
+ */
+class PersianCalendarTest {
+    @Test
+    fun julianDaysMatchTheKernel() {
+        for (epochDay in FIRST_DAY..LAST_DAY) {
+            val packed = JalaliCalendar.epochDayToPackedJalali(epochDay)
+            val year = JalaliCalendar.year(packed)
+            val month = JalaliCalendar.month(packed) - 1
+            val day = JalaliCalendar.day(packed)
+            val julianDay = epochDay + EPOCH_JULIAN_DAY
+
+            val expected = (year.toLong() shl 16) or (month.toLong() shl 8) or day.toLong()
+            assertEquals("epoch day $epochDay", expected, PersianCalendarUtils.julianToPersian(julianDay))
+            assertEquals("epoch day $epochDay", julianDay, PersianCalendarUtils.persianToJulian(year.toLong(), month, day))
+        }
+        for (year in 1..3000) {
+            assertEquals("year $year", JalaliCalendar.isLeapYear(year), PersianCalendarUtils.isPersianLeapYear(year))
+        }
+    }
+
+    @Test
+    fun calendarFieldsMatchTheKernel() {
+        val calendar = PersianCalendar(0L)
+        for (epochDay in FIRST_DAY..LAST_DAY) {
+            // Midday, so neither end of the day is tested against the other
+            calendar.timeInMillis = JalaliCalendar.epochDayToEpochMillis(epochDay) + HALF_DAY
+            val packed = JalaliCalendar.epochDayToPackedJalali(epochDay)
+            assertEquals("epoch day $epochDay", JalaliCalendar.year(packed), calendar.getPersianYear())
+            assertEquals("epoch day $epochDay", JalaliCalendar.month(packed) - 1, calendar.getPersianMonth())
+            assertEquals("epoch day $epochDay", JalaliCalendar.day(packed), calendar.getPersianDay())
+        }
+    }
+
+    @Test
+    fun setPersianDateMatchesTheKernel() {
+        val calendar = PersianCalendar()
+        for (year in 1..3000) {
+            calendar.setPersianDate(year, 0, 1)
+            val epochDay = JalaliCalendar.epochMillisToEpochDay(calendar.timeInMillis)
+            assertEquals("year $year", JalaliCalendar.firstDayOfYear(year), epochDay)
+            assertEquals("year $year", JalaliCalendar.isLeapYear(year), calendar.isPersianLeapYear)
+        }
+    }
+
+    @Test
+    fun yearsThe2820YearCycleMovedStartWithTheKernel() {
+        // The old 2820-year arithmetic started these a day early
+        val calendar = PersianCalendar(0L)
+        for (year in intArrayOf(1404, 1437, 1470)) {
+            calendar.timeInMillis = JalaliCalendar.epochDayToEpochMillis(JalaliCalendar.firstDayOfYear(year)) + HALF_DAY
+            assertEquals(year, calendar.getPersianYear())
+            assertEquals(0, calendar.getPersianMonth())
+            assertEquals(1, calendar.getPersianDay())
+        }
+    }
+
+    @Test
+    fun parserChecksLeapDaysWithTheKernel() {
+        assertTrue(JalaliCalendar.isLeapYear(1403))
+        assertFalse(JalaliCalendar.isLeapYear(1404))
+        PersianCalendar().parse("1403/12/30")
+        assertThrows { PersianCalendar().parse("1404/12/30") }
+    }
+
+    @Test
+    fun settingYearOrDayLeavesTheMonthAlone() {
+        val calendar = PersianCalendar()
+        for (month in 0..11) {
+            calendar.setPersianDate(1402, month, 15)
+            calendar.setPersianYear(1403)
+            assertDate(calendar, 1403, month, 15)
+            calendar.setPersianDay(29)
+            assertDate(calendar, 1403, month, 29)
+            calendar.setPersianDay(1)
+            assertDate(calendar, 1403, month, 1)
+        }
+    }
+
+    @Test
+    fun setPersianDateTimeMatchesSeparateSetters() {
+        val random = Random(SEED)
+        val combined = PersianCalendar()
+        val separate = PersianCalendar()
+        repeat(SAMPLES) {
+            val year = 1300 + random.nextInt(200)
+            val month = random.nextInt(12)
+            val day = 1 + random.nextInt(JalaliCalendar.monthLength(year, month + 1))
+            val hour = random.nextInt(24)
+            val minute = random.nextInt(60)
+            val second = random.nextInt(60)
+
+            combined.setPersianDateTime(year, month, day, hour, minute, second)
+            separate.setPersianDate(year, month, day)
+            separate.set(Calendar.HOUR_OF_DAY, hour)
+            separate.set(Calendar.MINUTE, minute)
+            separate.set(Calendar.SECOND, second)
+            separate.set(Calendar.MILLISECOND, 0)
+
+            val label = "$year/${month + 1}/$day $hour:$minute:$second"
+            assertEquals(label, separate.timeInMillis, combined.timeInMillis)
+            assertDate(combined, year, month, day)
+        }
+    }
+
+    @Test
+    fun addingDaysCarriesAcrossMonthsAndYears() {
+        val calendar = PersianCalendar()
+        // Esfand 30 exists in 1403 only, so the year turns a day later than in 1404
+        calendar.setPersianDate(1403, 11, 29)
+        calendar.add(Calendar.DAY_OF_MONTH, 1)
+        assertDate(calendar, 1403, 11, 30)
+        calendar.add(Calendar.DAY_OF_MONTH, 1)
+        assertDate(calendar, 1404, 0, 1)
+        calendar.add(Calendar.DAY_OF_MONTH, -1)
+        assertDate(calendar, 1403, 11, 30)
+        calendar.setPersianDate(1404, 11, 29)
+        calendar.add(Calendar.DAY_OF_MONTH, 1)
+        assertDate(calendar, 1405, 0, 1)
+        calendar.add(Calendar.DAY_OF_MONTH, -1)
+        assertDate(calendar, 1404, 11, 29)
+        // Shahrivar has 31 days and Mehr 30
+        calendar.setPersianDate(1403, 5, 31)
+        calendar.add(Calendar.DAY_OF_MONTH, 1)
+        assertDate(calendar, 1403, 6, 1)
+        calendar.add(Calendar.DAY_OF_MONTH, -1)
+        assertDate(calendar, 1403, 5, 31)
+
+        // One day at a time, both ways, through every month end of 1399..1410
+        val first = JalaliCalendar.jalaliToEpochDay(1399, 1, 1)
+        val last = JalaliCalendar.jalaliToEpochDay(1411, 1, 1)
+        calendar.timeInMillis = JalaliCalendar.epochDayToEpochMillis(first) + HALF_DAY
+        for (epochDay in first..last) {
+            assertDay(calendar, epochDay)
+            calendar.add(Calendar.DAY_OF_MONTH, 1)
+        }
+        for (epochDay in last + 1 downTo first) {
+            assertDay(calendar, epochDay)
+            calendar.add(Calendar.DAY_OF_MONTH, -1)
+        }
+    }
+
+    @Test
+    fun addingYearsAndMonthsKeepsTheOtherFields() {
+        val calendar = PersianCalendar()
+        calendar.setPersianDate(1402, 4, 10)
+        calendar.addPersianDate(Calendar.YEAR, 1)
+        assertDate(calendar, 1403, 4, 10)
+        calendar.addPersianDate(Calendar.YEAR, -3)
+        assertDate(calendar, 1400, 4, 10)
+        calendar.addPersianDate(Calendar.MONTH, 1)
+        assertDate(calendar, 1400, 5, 10)
+        calendar.addPersianDate(Calendar.MONTH, 7)
+        assertDate(calendar, 1401, 0, 10)
+        calendar.addPersianDate(Calendar.MONTH, -1)
+        assertDate(calendar, 1400, 11, 10)
+        calendar.addPersianDate(Calendar.MONTH, -25)
+        assertDate(calendar, 1398, 10, 10)
+    }
+
+    @Test
+    fun randomWalksMatchAFreshCalendar() {
+        val random = Random(SEED)
+        val calendar = PersianCalendar(0L)
+        var millis = JalaliCalendar.epochDayToEpochMillis(JalaliCalendar.jalaliToEpochDay(1400, 1, 1))
+        repeat(SAMPLES * 10) {
+            // Mostly steps the incremental path takes, sometimes a jump it must not
+            millis += when (random.nextInt(4)) {
+                0 -> random.nextInt(HOURS_IN_TWO_DAYS) * HOUR
+                1 -> -random.nextInt(HOURS_IN_TWO_DAYS) * HOUR
+                2 -> (random.nextInt(80) - 40) * PersianCalendarConstants.MILLIS_OF_A_DAY
+                else -> (random.nextInt(4000) - 2000) * PersianCalendarConstants.MILLIS_OF_A_DAY
+            }
+            calendar.timeInMillis = millis
+            val fresh = PersianCalendar(millis)
+            assertEquals("$millis", fresh.getPersianYear(), calendar.getPersianYear())
+            assertEquals("$millis", fresh.getPersianMonth(), calendar.getPersianMonth())
+            assertEquals("$millis", fresh.getPersianDay(), calendar.getPersianDay())
+        }
+    }
+
+    private fun assertDate(calendar: PersianCalendar, year: Int, month: Int, day: Int) {
+        val expected = "$year/${month + 1}/$day"
+        val actual = "${calendar.getPersianYear()}/${calendar.getPersianMonth() + 1}/${calendar.getPersianDay()}"
+        assertEquals(expected, actual)
+        // And the same day as a calendar that never had a date set
+        val fresh = PersianCalendar(calendar.timeInMillis)
+        assertEquals(expected, "${fresh.getPersianYear()}/${fresh.getPersianMonth() + 1}/${fresh.getPersianDay()}")
+    }
+
+    private fun assertDay(calendar: PersianCalendar, epochDay: Long) {
+        val packed = JalaliCalendar.epochDayToPackedJalali(epochDay)
+        assertDate(calendar, JalaliCalendar.year(packed), JalaliCalendar.month(packed) - 1, JalaliCalendar.day(packed))
+    }
+
+    private fun assertThrows(block: () -> Unit) {
+        try {
+            block()
+        } catch (expected: RuntimeException) {
+            return
+        }
+        throw AssertionError("expected a RuntimeException")
+    }
+
+    private companion object {
+        const val EPOCH_JULIAN_DAY = 2440588L
+        const val HALF_DAY = PersianCalendarConstants.MILLIS_OF_A_DAY / 2
+        const val HOUR = 3_600_000L
+        const val HOURS_IN_TWO_DAYS = 48
+        const val SAMPLES = 2_000
+        const val SEED = 1403L
+
+        // Years 1 to 3000
+        val FIRST_DAY = JalaliCalendar.jalaliToEpochDay(1, 1, 1)
+        val LAST_DAY = JalaliCalendar.jalaliToEpochDay(3001, 1, 1) - 1
+    }
+}
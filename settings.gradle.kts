@@ -22,4 +22,5 @@ dependencyResolutionManagement {
 
 rootProject.name = "PersianDateTimePicker"
 include(":app")
-include(":persiandatetimepicker")
\ No newline at end of file
+include(":persiandatetimepicker")
+include(":benchmarks")
\ No newline at end of file